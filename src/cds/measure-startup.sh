@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Compares startup of the extracted application in target/cds with and without the CDS archive (and AOT, when built with it).
+# Usage: src/cds/measure-startup.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+BASEDIR=$(cd "$(dirname "$0")/../.." && pwd)
+JAR=$(cd "$BASEDIR/target/cds" && ls tn-data-service-jdbc-*.jar)
+
+start()
+{
+  # starts once against the training table, prints the seconds Spring reports once the application has started, then stops it
+  local log
+  log=$(mktemp)
+
+  (
+    cd "$BASEDIR/target/cds"
+    exec java "$@" -jar "$JAR" \
+      --server.port=0 \
+      --spring.datasource.url=jdbc:h2:mem:startup \
+      --spring.sql.init.mode=always \
+      --spring.sql.init.schema-locations="file:$BASEDIR/src/cds/training.sql" \
+      --tn.data.schema=PUBLIC \
+      --tn.data.table=TRAINING
+  ) > "$log" 2>&1 &
+  local pid=$!
+
+  until grep -q 'Started Application in' "$log"
+  do
+    kill -0 "$pid" 2> /dev/null || { cat "$log" >&2; exit 1; }
+    sleep 0.1
+  done
+
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+
+  grep -o 'Started Application in [0-9.]* seconds' "$log" | grep -o '[0-9.]*'
+  rm "$log"
+}
+
+measure()
+{
+  local label=$1
+  shift
+
+  local total=0
+  for _ in $(seq "$RUNS")
+  do
+    seconds=$(start "$@")
+    total=$(echo "$total + $seconds" | bc -l)
+  done
+
+  printf '%-12s %.3fs average of %d runs\n' "$label" "$(echo "$total / $RUNS" | bc -l)" "$RUNS"
+}
+
+measure "baseline"
+measure "cds" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled="$([ -d "$BASEDIR/target/spring-aot" ] && echo true || echo false)"
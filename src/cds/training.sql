@@ -0,0 +1,17 @@
+CREATE TABLE PUBLIC.TRAINING (
+  id              INT              NOT NULL PRIMARY KEY,
+  boolean_value   BOOLEAN          NULL,
+  integer_value   INTEGER          NOT NULL,
+  long_value      BIGINT           NOT NULL,
+  float_value     FLOAT            NOT NULL,
+  double_value    DOUBLE PRECISION NOT NULL,
+  decimal_value   DECIMAL(5, 2)    NOT NULL,
+  string_value    VARCHAR(10)      NOT NULL,
+  date_value      DATE             NOT NULL,
+  time_value      TIME             NOT NULL,
+  timestamp_value TIMESTAMP        NOT NULL
+);
+
+INSERT INTO PUBLIC.TRAINING VALUES (1, TRUE, 10, 11, 1.23, 2.34, 3.45, 'T1', CURRENT_DATE, CURRENT_TIME, CURRENT_TIMESTAMP);
+INSERT INTO PUBLIC.TRAINING VALUES (2, FALSE, 11, 12, 2.23, 3.34, 4.45, 'T2', CURRENT_DATE, CURRENT_TIME, CURRENT_TIMESTAMP);
+INSERT INTO PUBLIC.TRAINING VALUES (3, NULL, 12, 13, 3.23, 4.34, 5.45, 'T3', CURRENT_DATE, CURRENT_TIME, CURRENT_TIMESTAMP);
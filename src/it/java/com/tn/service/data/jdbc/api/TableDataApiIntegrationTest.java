@@ -0,0 +1,135 @@
+package com.tn.service.data.jdbc.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest(
+  webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+  properties =
+  {
+    "spring.datasource.url=jdbc:h2:mem:tables;DB_CLOSE_DELAY=-1",
+    "tn.data.schema=PUBLIC",
+    "tn.data.table=TEST",
+    "tn.data.multi-table=true",
+    "tn.data.tables=PUBLIC.TEST",
+  }
+)
+@Sql(
+  executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS,
+  statements = """
+    CREATE TABLE PUBLIC.TEST (
+      id   INT         NOT NULL PRIMARY KEY,
+      name VARCHAR(10) NOT NULL
+    );
+    CREATE TABLE PUBLIC.OTHER (
+      id   INT         NOT NULL PRIMARY KEY
+    );
+  """
+)
+@Sql(
+  executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS,
+  statements = "DROP TABLE PUBLIC.TEST; DROP TABLE PUBLIC.OTHER"
+)
+@SuppressWarnings({"SqlNoDataSourceInspection", "SqlResolve", "SpringBootApplicationProperties"})
+class TableDataApiIntegrationTest
+{
+  private static final String FIELD_ID = "id";
+  private static final String FIELD_NAME = "name";
+
+  @Autowired
+  TestRestTemplate testRestTemplate;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void insert()
+  {
+    jdbcTemplate.update("INSERT INTO PUBLIC.TEST(id, name) VALUES (1, 'A'), (2, 'B')");
+  }
+
+  @AfterEach
+  void deleteAll()
+  {
+    //noinspection SqlWithoutWhere
+    jdbcTemplate.update("DELETE FROM PUBLIC.TEST");
+  }
+
+  @Test
+  void shouldGet()
+  {
+    ResponseEntity<ArrayNode> response = testRestTemplate.getForEntity("/tables/PUBLIC/TEST", ArrayNode.class);
+
+    assertTrue(response.getStatusCode().is2xxSuccessful());
+    assertEquals(new ArrayNode(null, List.of(object(1, "A"), object(2, "B"))), response.getBody());
+  }
+
+  @Test
+  void shouldGetWithKey()
+  {
+    ResponseEntity<ObjectNode> response = testRestTemplate.getForEntity("/tables/PUBLIC/TEST/2", ObjectNode.class);
+
+    assertTrue(response.getStatusCode().is2xxSuccessful());
+    assertEquals(object(2, "B"), response.getBody());
+  }
+
+  @Test
+  void shouldNotGetForUnknownKey()
+  {
+    assertEquals(HttpStatus.NOT_FOUND, testRestTemplate.getForEntity("/tables/PUBLIC/TEST/3", ObjectNode.class).getStatusCode());
+  }
+
+  @Test
+  void shouldPostAndDelete()
+  {
+    ResponseEntity<ObjectNode> posted = testRestTemplate.postForEntity("/tables/PUBLIC/TEST", object(3, "C"), ObjectNode.class);
+
+    assertTrue(posted.getStatusCode().is2xxSuccessful());
+    assertEquals(object(3, "C"), posted.getBody());
+
+    ResponseEntity<ObjectNode> deleted = testRestTemplate.exchange("/tables/PUBLIC/TEST/3", HttpMethod.DELETE, null, ObjectNode.class);
+
+    assertTrue(deleted.getStatusCode().is2xxSuccessful());
+    assertEquals(object(3, "C"), deleted.getBody());
+    assertEquals(HttpStatus.NOT_FOUND, testRestTemplate.getForEntity("/tables/PUBLIC/TEST/3", ObjectNode.class).getStatusCode());
+  }
+
+  @Test
+  void shouldNotServeTableNotAllowed()
+  {
+    assertEquals(HttpStatus.NOT_FOUND, testRestTemplate.getForEntity("/tables/PUBLIC/OTHER", String.class).getStatusCode());
+  }
+
+  @Test
+  void shouldNotServeInvalidTable()
+  {
+    assertEquals(HttpStatus.NOT_FOUND, testRestTemplate.getForEntity("/tables/PUBLIC/1TEST", String.class).getStatusCode());
+  }
+
+  private static ObjectNode object(int id, String name)
+  {
+    ObjectNode object = new ObjectNode(null);
+    object.set(FIELD_ID, IntNode.valueOf(id));
+    object.set(FIELD_NAME, TextNode.valueOf(name));
+
+    return object;
+  }
+}
@@ -315,6 +315,35 @@ class JdbcDataRepositoryIntegrationTest
       }
     }
 
+    @Test
+    void shouldFindAfter()
+    {
+      ObjectNode object1 = dataRepository.insert(object(1, true, 12, 11, 1.23F, 2.34, BigDecimal.valueOf(3.45), "T1"));
+      ObjectNode object2 = dataRepository.insert(object(2, false, 10, 12, 2.23F, 3.34, BigDecimal.valueOf(4.45), "T2"));
+      ObjectNode object3 = dataRepository.insert(object(3, true, 10, 13, 3.23F, 4.34, BigDecimal.valueOf(5.45), "T3"));
+      ObjectNode object4 = dataRepository.insert(object(4, false, 11, 14, 4.23F, 5.34, BigDecimal.valueOf(6.45), "T4"));
+
+      JdbcDataRepository dataRepository = (JdbcDataRepository)JdbcDataRepositoryIntegrationTest.this.dataRepository;
+
+      assertEquals(List.of(object2, object3), dataRepository.findAfter("integerValue", null, 2));
+      assertEquals(List.of(object4, object1), dataRepository.findAfter("integerValue", object3, 2));
+      assertEquals(List.of(object3, object4, object1), dataRepository.findAfter("integerValue", object2, 10));
+      assertEquals(List.of(), dataRepository.findAfter("integerValue", object1, 10));
+    }
+
+    @Test
+    void shouldFindAfterKey()
+    {
+      ObjectNode object1 = dataRepository.insert(object(1, true, 12, 11, 1.23F, 2.34, BigDecimal.valueOf(3.45), "T1"));
+      ObjectNode object2 = dataRepository.insert(object(2, false, 10, 12, 2.23F, 3.34, BigDecimal.valueOf(4.45), "T2"));
+      ObjectNode object3 = dataRepository.insert(object(3, true, 10, 13, 3.23F, 4.34, BigDecimal.valueOf(5.45), "T3"));
+
+      JdbcDataRepository dataRepository = (JdbcDataRepository)JdbcDataRepositoryIntegrationTest.this.dataRepository;
+
+      assertEquals(List.of(object1, object2), dataRepository.findAfter(null, null, 2));
+      assertEquals(List.of(object3), dataRepository.findAfter(null, object2, 2));
+    }
+
     static Stream<Arguments> findForObjectNodes()
     {
       LocalDateTime now = LocalDateTime.now();
@@ -585,6 +614,41 @@ class JdbcDataRepositoryIntegrationTest
       assertEquals(List.of(mutated1, mutated2, mutated3), dataRepository.findAll(emptySet(), ASCENDING));
     }
 
+    @Test
+    void shouldUpdateWhere()
+    {
+      ObjectNode object1 = dataRepository.insert(object(1, true, 10, 11, 1.23F, 2.34, BigDecimal.valueOf(3.45), "T1"));
+      ObjectNode object2 = dataRepository.insert(object(2, false, 11, 12, 2.23F, 3.34, BigDecimal.valueOf(4.45), "T2"));
+      ObjectNode object3 = dataRepository.insert(object(3, null, 12, 13, 3.23F, 4.34, BigDecimal.valueOf(5.45), "T3"));
+
+      ObjectNode patch = new ObjectNode(null);
+      STRING_VALUE.set(patch, "U");
+
+      assertEquals(2, ((JdbcDataRepository)dataRepository).updateWhere("integerValue>10", patch));
+
+      object2.setAll(patch);
+      object3.setAll(patch);
+      assertEquals(List.of(object1, object2, object3), dataRepository.findAll(emptySet(), ASCENDING));
+    }
+
+    @Test
+    void shouldUpdateWhereWithParametersAfterPatch()
+    {
+      ObjectNode object1 = dataRepository.insert(object(1, true, 10, 11, 1.23F, 2.34, BigDecimal.valueOf(3.45), "T1"));
+      ObjectNode object2 = dataRepository.insert(object(2, false, 11, 12, 2.23F, 3.34, BigDecimal.valueOf(4.45), "T2"));
+      ObjectNode object3 = dataRepository.insert(object(3, null, 12, 13, 3.23F, 4.34, BigDecimal.valueOf(5.45), "T3"));
+
+      ObjectNode patch = new ObjectNode(null);
+      STRING_VALUE.set(patch, "U");
+      LONG_VALUE.set(patch, 20L);
+
+      // two patch values, then two predicate values
+      assertEquals(1, ((JdbcDataRepository)dataRepository).updateWhere("integerValue>10 && stringValue=T3", patch));
+
+      object3.setAll(patch);
+      assertEquals(List.of(object1, object2, object3), dataRepository.findAll(emptySet(), ASCENDING));
+    }
+
     private static Object mutation(ObjectNode object, Map<Field, Object> values)
     {
       ObjectNode mutation = new ObjectNode(null);
@@ -650,5 +714,16 @@ class JdbcDataRepositoryIntegrationTest
       dataRepository.deleteAll(List.of(object3));
       assertTrue(dataRepository.findAll(emptySet(), ASCENDING).isEmpty());
     }
+
+    @Test
+    void shouldDeleteWhere()
+    {
+      ObjectNode object1 = dataRepository.insert(object(1, true, 10, 11, 1.23F, 2.34, BigDecimal.valueOf(3.45), "T1"));
+      dataRepository.insert(object(2, false, 11, 12, 2.23F, 3.34, BigDecimal.valueOf(4.45), "T2"));
+      dataRepository.insert(object(3, null, 12, 13, 3.23F, 4.34, BigDecimal.valueOf(5.45), "T3"));
+
+      assertEquals(2, ((JdbcDataRepository)dataRepository).deleteWhere("integerValue>10"));
+      assertEquals(List.of(object1), dataRepository.findAll(emptySet(), ASCENDING));
+    }
   }
 }
@@ -0,0 +1,180 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.util.Collections.emptySet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static com.tn.service.data.domain.Direction.ASCENDING;
+import static com.tn.service.data.domain.Direction.DESCENDING;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import reactor.test.StepVerifier;
+
+import com.tn.lang.util.Page;
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.domain.FieldType;
+import com.tn.service.data.repository.DataRepository;
+
+@SpringBootTest(
+  webEnvironment = SpringBootTest.WebEnvironment.NONE,
+  properties =
+  {
+    "spring.datasource.url=jdbc:h2:mem:r2dbc;DB_CLOSE_DELAY=-1",
+    "tn.data.schema=PUBLIC",
+    "tn.data.table=TEST",
+    "tn.data.repository=r2dbc",
+    "tn.data.r2dbc.url=r2dbc:h2:mem:///r2dbc;DB_CLOSE_DELAY=-1",
+  }
+)
+@Sql(
+  executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS,
+  statements = """
+    CREATE TABLE PUBLIC.TEST (
+      id              INT           NOT NULL PRIMARY KEY,
+      integer_value   INTEGER       NOT NULL,
+      decimal_value   DECIMAL(3, 2) NOT NULL,
+      string_value    VARCHAR(10)   NOT NULL,
+      date_value      DATE          NOT NULL,
+      timestamp_value TIMESTAMP     NOT NULL
+    );
+  """
+)
+@Sql(
+  executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS,
+  statements = "DROP TABLE PUBLIC.TEST"
+)
+@SuppressWarnings({"SqlNoDataSourceInspection", "SqlResolve", "SpringBootApplicationProperties"})
+class R2dbcDataRepositoryIntegrationTest
+{
+  private static final String FIELD_ID = "id";
+  private static final Field INTEGER_VALUE = FieldType.INTEGER.field("integerValue", null);
+  private static final Field DECIMAL_VALUE = FieldType.DECIMAL.field("decimalValue", null);
+  private static final Field STRING_VALUE = FieldType.TEXT.field("stringValue", null);
+  private static final Field DATE_VALUE = FieldType.DATE.field("dateValue", null);
+  private static final Field TIMESTAMP_VALUE = FieldType.TIMESTAMP.field("timestampValue", null);
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+  @Autowired
+  DataRepository<ObjectNode, ObjectNode> dataRepository;
+  @Autowired
+  R2dbcDataRepository r2dbcDataRepository;
+  @Autowired
+  TableVersion tableVersion;
+
+  @AfterEach
+  void deleteAll()
+  {
+    //noinspection SqlWithoutWhere
+    jdbcTemplate.update("DELETE FROM PUBLIC.TEST");
+  }
+
+  @Test
+  void shouldBeSelected()
+  {
+    assertTrue(dataRepository instanceof R2dbcDataRepository);
+  }
+
+  @Test
+  void shouldInsertAndFind()
+  {
+    ObjectNode object = dataRepository.insert(object(1, 10, "T1"));
+
+    assertEquals(object, dataRepository.find(object).orElse(null));
+    assertTrue(dataRepository.find(key(2)).isEmpty());
+  }
+
+  @Test
+  void shouldFindAllAndWhere()
+  {
+    List<ObjectNode> objects = List.copyOf(dataRepository.insertAll(List.of(object(1, 10, "T1"), object(2, 11, "T2"), object(3, 12, "T3"))));
+
+    assertEquals(objects, dataRepository.findAll(emptySet(), ASCENDING));
+    assertEquals(objects.reversed(), dataRepository.findAll(Set.of("integerValue"), DESCENDING));
+    assertEquals(List.of(objects.get(1)), dataRepository.findWhere("stringValue=T2", emptySet(), ASCENDING));
+    assertEquals(List.of(objects.get(0), objects.get(2)), dataRepository.findAll(List.of(key(1), key(3))));
+    assertEquals(new Page<>(List.of(objects.get(2)), 1, 2, 3, 2), dataRepository.findAll(1, 2, emptySet(), ASCENDING));
+    assertEquals(new Page<>(List.of(objects.get(2)), 0, 2, 1, 1), dataRepository.findWhere("integerValue>11", 0, 2, emptySet(), ASCENDING));
+  }
+
+  @Test
+  void shouldStreamWithBackpressure()
+  {
+    List<ObjectNode> objects = List.copyOf(dataRepository.insertAll(List.of(object(1, 10, "T1"), object(2, 11, "T2"), object(3, 12, "T3"))));
+
+    StepVerifier.create(r2dbcDataRepository.stream(emptySet(), ASCENDING), 1)
+      .expectNext(objects.get(0))
+      .thenRequest(2)
+      .expectNext(objects.get(1), objects.get(2))
+      .verifyComplete();
+  }
+
+  @Test
+  void shouldUpdateAndDelete()
+  {
+    dataRepository.insert(object(1, 10, "T1"));
+
+    ObjectNode update = key(1);
+    STRING_VALUE.set(update, "U1");
+
+    ObjectNode updated = dataRepository.update(update);
+    assertEquals("U1", updated.get(STRING_VALUE.name()).asText());
+    assertEquals(10, updated.get(INTEGER_VALUE.name()).asInt());
+
+    assertEquals(updated, dataRepository.delete(key(1)).orElse(null));
+    assertTrue(dataRepository.find(key(1)).isEmpty());
+  }
+
+  @Test
+  void shouldMoveVersionOnWrite()
+  {
+    String version = tableVersion.get();
+    dataRepository.insert(object(1, 10, "T1"));
+    assertNotEquals(version, tableVersion.get());
+
+    version = tableVersion.get();
+    dataRepository.find(key(1));
+    assertEquals(version, tableVersion.get());
+
+    dataRepository.delete(key(1));
+    assertNotEquals(version, tableVersion.get());
+  }
+
+  private static ObjectNode key(int id)
+  {
+    ObjectNode key = new ObjectNode(null);
+    key.set(FIELD_ID, IntNode.valueOf(id));
+
+    return key;
+  }
+
+  private static ObjectNode object(int id, int integerValue, String stringValue)
+  {
+    LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    ObjectNode object = key(id);
+    INTEGER_VALUE.set(object, integerValue);
+    DECIMAL_VALUE.set(object, BigDecimal.valueOf(1.23));
+    STRING_VALUE.set(object, stringValue);
+    DATE_VALUE.set(object, Date.valueOf(now.toLocalDate()));
+    TIMESTAMP_VALUE.set(object, Timestamp.valueOf(now));
+
+    return object;
+  }
+}
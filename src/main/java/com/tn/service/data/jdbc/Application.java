@@ -7,12 +7,20 @@ import static com.tn.service.PropertyLogger.sensitive;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
 
 import com.tn.service.PropertyLogger;
 
-@SpringBootApplication
+// the R2DBC repository creates its own connection factory, so that it does not displace the JDBC one
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class Application
 {
+  private static final String PROPERTY_STARTUP_STEPS = "tn.data.startup.steps";
+
   public static void main(String[] args)
   {
     PropertyLogger propertyLogger = new PropertyLogger(
@@ -23,6 +31,19 @@ public class Application
 
     var application = new SpringApplication(Application.class);
     application.addListeners(propertyLogger);
+
+    int startupSteps = startupSteps(args);
+    if (startupSteps > 0) application.setApplicationStartup(new BufferingApplicationStartup(startupSteps));
+
     application.run(args);
   }
+
+  private static int startupSteps(String[] args)
+  {
+    // read before the application's environment exists, so only from the command line, system properties and the OS environment
+    StandardEnvironment environment = new StandardEnvironment();
+    environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+
+    return environment.getProperty(PROPERTY_STARTUP_STEPS, Integer.class, 0);
+  }
 }
@@ -0,0 +1,51 @@
+package com.tn.service.data.jdbc.actuator;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import com.tn.service.data.jdbc.export.ExportFormat;
+import com.tn.service.data.jdbc.export.ExportProgress;
+import com.tn.service.data.jdbc.export.Exports;
+
+@Endpoint(id = "export")
+public class ExportEndpoint
+{
+  private final Exports exports;
+
+  public ExportEndpoint(Exports exports)
+  {
+    this.exports = exports;
+  }
+
+  @ReadOperation
+  public Map<String, ExportProgress> exports()
+  {
+    return exports.all();
+  }
+
+  @ReadOperation
+  public ExportProgress export(@Selector String name)
+  {
+    return exports.progress(name);
+  }
+
+  @WriteOperation
+  public ExportProgress start(@Selector String name, String format)
+  {
+    try
+    {
+      return exports.start(name, ExportFormat.valueOf(format.toUpperCase(Locale.ROOT)));
+    }
+    catch (IllegalArgumentException e)
+    {
+      // an unknown format or an invalid name is a bad request
+      throw new InvalidEndpointRequestException("Invalid export: " + name + " as " + format, "Invalid export");
+    }
+  }
+}
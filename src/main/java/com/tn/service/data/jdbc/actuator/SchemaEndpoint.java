@@ -0,0 +1,33 @@
+package com.tn.service.data.jdbc.actuator;
+
+import java.util.Collection;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.repository.SchemaRefresher;
+
+@Endpoint(id = "schema")
+public class SchemaEndpoint
+{
+  private final SchemaRefresher schemaRefresher;
+
+  public SchemaEndpoint(SchemaRefresher schemaRefresher)
+  {
+    this.schemaRefresher = schemaRefresher;
+  }
+
+  @ReadOperation
+  public Collection<Field> fields()
+  {
+    return schemaRefresher.fields();
+  }
+
+  @WriteOperation
+  public boolean refresh()
+  {
+    return schemaRefresher.refresh();
+  }
+}
@@ -0,0 +1,21 @@
+package com.tn.service.data.jdbc.config;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+class ArrowConfiguration
+{
+  // created on the first Arrow read, so that only deployments serving Arrow need java.nio opened to it
+  @Bean(destroyMethod = "close")
+  @Lazy
+  BufferAllocator arrowAllocator(@Value("${tn.data.arrow.memory-limit:1GB}") DataSize memoryLimit)
+  {
+    return new RootAllocator(memoryLimit.toBytes());
+  }
+}
@@ -0,0 +1,30 @@
+package com.tn.service.data.jdbc.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.tn.service.data.jdbc.web.CompressionFilter;
+
+@Configuration
+@ConditionalOnProperty(name = "tn.data.compression.enabled", havingValue = "true")
+class CompressionConfiguration
+{
+  @Bean
+  FilterRegistrationBean<CompressionFilter> compressionFilter(
+    MeterRegistry meterRegistry,
+    @Value("${tn.data.compression.min-response-size:2KB}")
+    DataSize minResponseSize,
+    @Value("${tn.data.compression.gzip-level:6}")
+    int gzipLevel,
+    @Value("${tn.data.compression.zstd-level:3}")
+    int zstdLevel
+  )
+  {
+    return new FilterRegistrationBean<>(new CompressionFilter((int)minResponseSize.toBytes(), gzipLevel, zstdLevel, meterRegistry));
+  }
+}
@@ -0,0 +1,66 @@
+package com.tn.service.data.jdbc.config;
+
+import java.util.Map;
+
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.tn.service.data.jdbc.domain.Table;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.jdbc.repository.JdbcDataRepositoryRegistry;
+import com.tn.service.data.jdbc.repository.TableVersion;
+import com.tn.service.data.jdbc.web.TableVersionInterceptor;
+
+@Configuration
+@ConditionalOnProperty(name = "tn.data.etag.enabled", havingValue = "true")
+class ConditionalRequestConfiguration
+{
+  private static final String PATH_TABLES = "/tables/**";
+  private static final String PATH_TABLE = "/tables/{schema}/{table}/**";
+  private static final String VARIABLE_SCHEMA = "schema";
+  private static final String VARIABLE_TABLE = "table";
+
+  @Bean
+  WebMvcConfigurer tableVersionInterceptors(ObjectProvider<TableVersion> tableVersion, ObjectProvider<JdbcDataRepositoryRegistry> dataRepositoryRegistry)
+  {
+    return new WebMvcConfigurer()
+    {
+      @Override
+      public void addInterceptors(@Nonnull InterceptorRegistry registry)
+      {
+        tableVersion.ifAvailable(
+          version -> registry.addInterceptor(new TableVersionInterceptor(request -> version)).excludePathPatterns(PATH_TABLES)
+        );
+        dataRepositoryRegistry.ifAvailable(
+          repositories -> registry.addInterceptor(new TableVersionInterceptor(request -> tableVersion(repositories, request))).addPathPatterns(PATH_TABLE)
+        );
+      }
+    };
+  }
+
+  private TableVersion tableVersion(JdbcDataRepositoryRegistry dataRepositoryRegistry, HttpServletRequest request)
+  {
+    @SuppressWarnings("unchecked")
+    Map<String, String> variables = (Map<String, String>)request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    if (variables == null) return null;
+
+    try
+    {
+      return dataRepositoryRegistry.find(new Table(variables.get(VARIABLE_SCHEMA), variables.get(VARIABLE_TABLE)))
+        .map(JdbcDataRepository::version)
+        .orElse(null);
+    }
+    catch (IllegalArgumentException e)
+    {
+      return null;
+    }
+  }
+}
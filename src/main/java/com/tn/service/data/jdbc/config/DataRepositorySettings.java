@@ -0,0 +1,46 @@
+package com.tn.service.data.jdbc.config;
+
+import java.time.Duration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.jdbc.repository.SingleFlight;
+
+// the tn.data settings applied to every data repository, whether the single table's or one of the registry's
+record DataRepositorySettings(
+  long facetCacheSize,
+  boolean singleFlight,
+  Duration pointLookupWindow,
+  int pointLookupMaxKeys,
+  int pointLookupQueueSize,
+  int pointLookupFlushThreads,
+  Duration pointLookupTimeout,
+  boolean singleShapeUpdates,
+  String versionField,
+  boolean deltaTables,
+  MeterRegistry meterRegistry
+)
+{
+  JdbcDataRepository apply(JdbcDataRepository dataRepository, boolean versionFieldRequired)
+  {
+    dataRepository
+      .withFacetCacheSize(facetCacheSize)
+      .withSingleFlight(singleFlight ? new SingleFlight(meterRegistry) : null)
+      .withSingleShapeUpdates(singleShapeUpdates)
+      .withVersionField(versioned(dataRepository, versionFieldRequired) ? versionField : null)
+      .withDeltaTables(deltaTables);
+
+    if (pointLookupWindow.isZero()) return dataRepository;
+
+    return dataRepository.withPointLookupBatching(pointLookupWindow, pointLookupMaxKeys, pointLookupQueueSize, pointLookupFlushThreads, pointLookupTimeout);
+  }
+
+  private boolean versioned(JdbcDataRepository dataRepository, boolean versionFieldRequired)
+  {
+    // one of several tables may not have the field, in which case its updates are not versioned
+    if (versionField.isEmpty()) return false;
+
+    return versionFieldRequired || dataRepository.fields().stream().anyMatch(field -> field.name().equals(versionField));
+  }
+}
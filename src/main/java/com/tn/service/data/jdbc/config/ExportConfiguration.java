@@ -0,0 +1,47 @@
+package com.tn.service.data.jdbc.config;
+
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.tn.service.data.jdbc.actuator.ExportEndpoint;
+import com.tn.service.data.jdbc.export.Exports;
+import com.tn.service.data.jdbc.export.TableExport;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+
+@Configuration
+class ExportConfiguration
+{
+  @Bean
+  @ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
+  TableExport tableExport(
+    ObjectProvider<JdbcDataRepository> dataRepository,
+    ObjectMapper objectMapper,
+    @Value("${tn.data.export.parallelism:4}")
+    int parallelism,
+    @Value("${tn.data.export.chunk-rows:10000}")
+    int chunkRows
+  )
+  {
+    return new TableExport(dataRepository::getObject, objectMapper, parallelism, chunkRows);
+  }
+
+  @Bean
+  @ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
+  Exports exports(TableExport tableExport, @Value("${tn.data.export.directory:export}") Path directory)
+  {
+    return new Exports(tableExport, directory);
+  }
+
+  @Bean
+  @ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
+  ExportEndpoint exportEndpoint(Exports exports)
+  {
+    return new ExportEndpoint(exports);
+  }
+}
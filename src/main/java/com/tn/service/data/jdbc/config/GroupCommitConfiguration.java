@@ -0,0 +1,47 @@
+package com.tn.service.data.jdbc.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import com.tn.service.data.jdbc.repository.GroupCommitDataRepository;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+
+@Configuration
+@Profile("!api-integration-test")
+@ConditionalOnProperty(name = "tn.data.group-commit.enabled", havingValue = "true")
+class GroupCommitConfiguration
+{
+  // the R2DBC repository is the primary one when configured, and writes are not grouped for it
+  @Configuration
+  @ConditionalOnProperty(name = "tn.data.repository", havingValue = "jdbc", matchIfMissing = true)
+  static class JdbcGroupCommitConfiguration
+  {
+    @Bean
+    @Lazy
+    @Primary
+    @ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
+    GroupCommitDataRepository groupCommitDataRepository(
+      JdbcDataRepository dataRepository,
+      @Value("${tn.data.group-commit.window:5ms}")
+      Duration window,
+      @Value("${tn.data.group-commit.max-rows:100}")
+      int maxRows,
+      @Value("${tn.data.group-commit.queue-size:1000}")
+      int queueSize,
+      @Value("${tn.data.group-commit.flush-threads:2}")
+      int flushThreads,
+      @Value("${tn.data.group-commit.timeout:5s}")
+      Duration timeout
+    )
+    {
+      return new GroupCommitDataRepository(dataRepository, window, maxRows, queueSize, flushThreads, timeout);
+    }
+  }
+}
@@ -1,18 +1,28 @@
 package com.tn.service.data.jdbc.config;
 
 import java.util.Collection;
+import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.collect.Lists;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import com.tn.service.data.io.DefaultJsonCodec;
 import com.tn.service.data.io.JsonCodec;
 import com.tn.service.data.jdbc.domain.Field;
 import com.tn.service.data.jdbc.io.Base64IdentityParser;
+import com.tn.service.data.jdbc.io.KeyFormat;
 import com.tn.service.data.parameter.IdentityParser;
 import com.tn.service.data.parameter.QueryBuilder;
 
@@ -22,9 +32,14 @@ class ParserConfiguration
 {
   @Bean
   @Lazy
-  IdentityParser<String, ?> identityParser(Collection<Field> fields, ObjectMapper objectMapper)
+  IdentityParser<String, ?> identityParser(
+    Collection<Field> fields,
+    ObjectMapper objectMapper,
+    @Value("${tn.data.key-format:JSON}")
+    KeyFormat keyFormat
+  )
   {
-    return new Base64IdentityParser(fields, objectMapper);
+    return new Base64IdentityParser(fields.stream().filter(field -> field.column().key()).toList(), objectMapper, keyFormat);
   }
 
   @Bean
@@ -33,10 +48,26 @@ class ParserConfiguration
     return new DefaultJsonCodec<>(objectMapper, ObjectNode.class);
   }
 
+  @Bean
+  WebMvcConfigurer binaryCodecs(ObjectMapper objectMapper)
+  {
+    return new WebMvcConfigurer()
+    {
+      @Override
+      public void extendMessageConverters(List<HttpMessageConverter<?>> converters)
+      {
+        // appended after the JSON converter so that JSON remains the default for Accept: */*; request bodies of the single table
+        // endpoints still decode through the JSON codec, so only the @RequestBody JsonNode endpoints read these
+        converters.add(new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory())));
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory())));
+      }
+    };
+  }
+
   @Bean
   @Lazy
-  QueryBuilder queryBuilder(Collection<Field> fields)
+  QueryBuilder queryBuilder(List<Field> fields)
   {
-    return new QueryBuilder(fields.stream().map(Field::name).toList());
+    return new QueryBuilder(Lists.transform(fields, Field::name));
   }
 }
@@ -0,0 +1,58 @@
+package com.tn.service.data.jdbc.config;
+
+import java.util.Collection;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.repository.QueryParsers;
+import com.tn.service.data.jdbc.repository.R2dbcDataRepository;
+import com.tn.service.data.jdbc.repository.TableVersion;
+
+@Configuration
+@Profile("!api-integration-test")
+@ConditionalOnProperty(name = "tn.data.repository", havingValue = "r2dbc")
+class R2dbcConfiguration
+{
+  @Bean
+  @Lazy
+  @Primary
+  @ConditionalOnProperty({"tn.data.schema", "tn.data.table", "tn.data.r2dbc.url"})
+  R2dbcDataRepository r2dbcDataRepository(
+    Collection<Field> fields,
+    TableVersion tableVersion,
+    @Value("${tn.data.schema}")
+    String schema,
+    @Value("${tn.data.table}")
+    String table,
+    @Value("${tn.data.r2dbc.url}")
+    String url
+  )
+  {
+    // neither the connection factory nor its transaction manager are beans, so the JDBC ones remain the defaults
+    ConnectionFactory connectionFactory = ConnectionFactories.get(url);
+
+    return new R2dbcDataRepository(
+      DatabaseClient.create(connectionFactory),
+      TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)),
+      BindMarkersFactoryResolver.resolve(connectionFactory),
+      schema,
+      table,
+      fields,
+      QueryParsers.forFields(fields)
+    )
+      .withVersion(tableVersion);
+  }
+}
@@ -1,28 +1,42 @@
 package com.tn.service.data.jdbc.config;
 
-import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionManager;
 
-import com.tn.query.DefaultQueryParser;
-import com.tn.query.ValueMappers;
-import com.tn.query.jdbc.JdbcPredicateFactory;
+import com.tn.service.data.jdbc.actuator.SchemaEndpoint;
 import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.domain.Table;
 import com.tn.service.data.jdbc.repository.FieldRepository;
 import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.jdbc.repository.JdbcDataRepositoryRegistry;
 import com.tn.service.data.jdbc.repository.JdbcFieldRepository;
-import com.tn.service.data.repository.DataRepository;
+import com.tn.service.data.jdbc.repository.QueryParsers;
+import com.tn.service.data.jdbc.repository.RefreshableFields;
+import com.tn.service.data.jdbc.repository.SchemaRefresher;
+import com.tn.service.data.jdbc.repository.SnapshotFieldRepository;
+import com.tn.service.data.jdbc.repository.TableVersion;
 
 @Configuration
 @Profile("!api-integration-test")
@@ -31,7 +45,7 @@ class RepositoryConfiguration
   @Bean
   @Lazy
   @ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
-  Collection<Field> fields(
+  RefreshableFields fields(
     FieldRepository fieldRepository,
     @Value("${tn.data.schema}")
     String schema,
@@ -42,39 +56,194 @@ class RepositoryConfiguration
     Collection<Field> fields = fieldRepository.findForTable(schema, table);
     if (fields.isEmpty()) throw new IllegalStateException("No such table: " + schema + "." + table);
 
-    return fields;
+    return new RefreshableFields(fields);
+  }
+
+  @Bean
+  DataRepositorySettings dataRepositorySettings(
+    @Value("${tn.data.facets.cache-size:1000}")
+    long facetCacheSize,
+    @Value("${tn.data.single-flight.enabled:false}")
+    boolean singleFlight,
+    @Value("${tn.data.point-lookup.window:0ms}")
+    Duration pointLookupWindow,
+    @Value("${tn.data.point-lookup.max-keys:100}")
+    int pointLookupMaxKeys,
+    @Value("${tn.data.point-lookup.queue-size:1000}")
+    int pointLookupQueueSize,
+    @Value("${tn.data.point-lookup.flush-threads:2}")
+    int pointLookupFlushThreads,
+    @Value("${tn.data.point-lookup.timeout:5s}")
+    Duration pointLookupTimeout,
+    @Value("${tn.data.update.single-shape:false}")
+    boolean singleShapeUpdates,
+    @Value("${tn.data.version-field:}")
+    String versionField,
+    @Value("${tn.data.delta-tables.enabled:false}")
+    boolean deltaTables,
+    MeterRegistry meterRegistry
+  )
+  {
+    return new DataRepositorySettings(
+      facetCacheSize,
+      singleFlight,
+      pointLookupWindow,
+      pointLookupMaxKeys,
+      pointLookupQueueSize,
+      pointLookupFlushThreads,
+      pointLookupTimeout,
+      singleShapeUpdates,
+      versionField,
+      deltaTables,
+      meterRegistry
+    );
   }
 
   @Bean
   @Lazy
   @ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
-  DataRepository<ObjectNode, ObjectNode> dataRepository(
+  JdbcDataRepository dataRepository(
+    ExecutorService queryExecutor,
     JdbcTemplate jdbcTemplate,
+    TableVersion tableVersion,
     Collection<Field> fields,
     @Value("${tn.data.schema}")
     String schema,
     @Value("${tn.data.table}")
     String table,
-    @Value("${tn.data.parallelism:10}")
-    int parallelism
+    DataRepositorySettings dataRepositorySettings
   )
   {
-    return new JdbcDataRepository(
-      Executors.newWorkStealingPool(parallelism),
+    JdbcDataRepository dataRepository = new JdbcDataRepository(
+      queryExecutor,
       jdbcTemplate,
       schema,
       table,
       fields,
-      new DefaultQueryParser<>(
-        new JdbcPredicateFactory(fields.stream().collect(toMap(Field::name, field -> field.column().name()))),
-        ValueMappers.forFields(fields.stream().map(field -> new ValueMappers.Field(field.name(), field.type().javaType())).toList())
-      )
+      QueryParsers.forFields(fields)
+    )
+      .withVersion(tableVersion);
+
+    return dataRepositorySettings.apply(dataRepository, true);
+  }
+
+  @Bean
+  @ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
+  TableVersion tableVersion(
+    JdbcTemplate jdbcTemplate,
+    @Value("${tn.data.table-version.sql:}")
+    String tableVersionSql,
+    @Value("${tn.data.table-version.interval:5s}")
+    Duration tableVersionInterval
+  )
+  {
+    TableVersion tableVersion = new TableVersion();
+    if (tableVersionSql.isEmpty()) return tableVersion;
+
+    return tableVersion.withExternalVersion(() -> jdbcTemplate.queryForObject(tableVersionSql, String.class), tableVersionInterval);
+  }
+
+  @Bean
+  @ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
+  SchemaRefresher schemaRefresher(
+    FieldRepository fieldRepository,
+    ObjectProvider<JdbcDataRepository> dataRepository,
+    ObjectProvider<RefreshableFields> fields,
+    @Value("${tn.data.schema}")
+    String schema,
+    @Value("${tn.data.table}")
+    String table,
+    @Value("${tn.data.schema-refresh-interval:0s}")
+    Duration schemaRefreshInterval
+  )
+  {
+    SchemaRefresher schemaRefresher = new SchemaRefresher(fieldRepository, dataRepository::getObject, fields::getObject, schema, table)
+      .withInterval(schemaRefreshInterval);
+
+    if (fieldRepository instanceof SnapshotFieldRepository snapshotFieldRepository)
+    {
+      snapshotFieldRepository.withChangeListener(
+        (changedSchema, changedTable) ->
+        {
+          if (changedSchema.equals(schema) && changedTable.equals(table)) schemaRefresher.refresh();
+        }
+      );
+    }
+
+    return schemaRefresher;
+  }
+
+  @Bean
+  @ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
+  SchemaEndpoint schemaEndpoint(SchemaRefresher schemaRefresher)
+  {
+    return new SchemaEndpoint(schemaRefresher);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "tn.data.multi-table", havingValue = "true")
+  JdbcDataRepositoryRegistry dataRepositoryRegistry(
+    ExecutorService queryExecutor,
+    JdbcTemplate jdbcTemplate,
+    FieldRepository fieldRepository,
+    TransactionManager transactionManager,
+    DataRepositorySettings dataRepositorySettings,
+    @Value("${tn.data.tables:}")
+    Collection<String> tables,
+    @Value("${tn.data.unknown-table-expiry:1m}")
+    Duration unknownTableExpiry
+  )
+  {
+    // every table the connection can see would otherwise be exposed
+    if (tables.isEmpty()) throw new IllegalStateException("tn.data.tables must list the tables served with tn.data.multi-table");
+
+    return new JdbcDataRepositoryRegistry(
+      queryExecutor,
+      jdbcTemplate,
+      fieldRepository,
+      transactionManager,
+      dataRepository -> dataRepositorySettings.apply(dataRepository, false),
+      tables.stream().map(Table::parse).collect(toSet()),
+      unknownTableExpiry
     );
   }
 
   @Bean
-  FieldRepository fieldRepository(DataSource dataSource)
+  @Primary
+  ExecutorService queryExecutor(@Value("${tn.data.parallelism:10}") int parallelism)
   {
-    return new JdbcFieldRepository(dataSource);
+    return Executors.newWorkStealingPool(parallelism);
+  }
+
+  @Bean(destroyMethod = "shutdown")
+  ThreadPoolExecutor jdbcExecutor(
+    @Value("${tn.data.async.threads:10}")
+    int threads,
+    @Value("${tn.data.async.queue-size:100}")
+    int queueSize
+  )
+  {
+    // bounded, so that a backlog is rejected rather than accumulating behind the connection pool
+    return new ThreadPoolExecutor(
+      threads,
+      threads,
+      0,
+      TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(queueSize),
+      Thread.ofPlatform().name("jdbc-", 0).factory()
+    );
+  }
+
+  @Bean
+  FieldRepository fieldRepository(
+    DataSource dataSource,
+    ObjectMapper objectMapper,
+    @Value("${tn.data.field-snapshot:}")
+    String fieldSnapshot
+  )
+  {
+    FieldRepository fieldRepository = new JdbcFieldRepository(dataSource);
+
+    return fieldSnapshot.isEmpty() ? fieldRepository : new SnapshotFieldRepository(fieldRepository, Path.of(fieldSnapshot), objectMapper);
   }
 }
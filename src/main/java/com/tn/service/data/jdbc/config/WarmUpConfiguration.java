@@ -0,0 +1,48 @@
+package com.tn.service.data.jdbc.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.jdbc.startup.TrainingRun;
+import com.tn.service.data.jdbc.startup.WarmUp;
+import com.tn.service.data.parameter.IdentityParser;
+import com.tn.service.data.parameter.QueryBuilder;
+
+@Configuration
+@Profile("!api-integration-test")
+class WarmUpConfiguration
+{
+  @Bean
+  @ConditionalOnProperty(name = "tn.data.warm-up.enabled", havingValue = "true")
+  WarmUp warmUp(
+    DataSource dataSource,
+    ObjectProvider<JdbcDataRepository> dataRepository,
+    ObjectProvider<IdentityParser<?, ?>> identityParser,
+    ObjectProvider<QueryBuilder> queryBuilder,
+    @Value("${tn.data.warm-up.connections:10}")
+    int connections,
+    @Value("${tn.data.warm-up.iterations:100}")
+    int iterations,
+    @Value("${tn.data.warm-up.page-size:10}")
+    int pageSize
+  )
+  {
+    return new WarmUp(dataSource, dataRepository, identityParser, queryBuilder, connections, iterations, pageSize);
+  }
+
+  @Bean
+  @Profile(TrainingRun.PROFILE)
+  TrainingRun trainingRun(ApplicationContext applicationContext, Environment environment)
+  {
+    return new TrainingRun(applicationContext, environment);
+  }
+}
@@ -0,0 +1,80 @@
+package com.tn.service.data.jdbc.controller;
+
+import static java.util.Collections.emptyList;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tn.service.IllegalParameterException;
+import com.tn.service.data.jdbc.domain.Aggregate;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+
+@RestController
+@ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
+public class AggregateController
+{
+  private final ObjectProvider<JdbcDataRepository> dataRepository;
+
+  public AggregateController(ObjectProvider<JdbcDataRepository> dataRepository)
+  {
+    this.dataRepository = dataRepository;
+  }
+
+  @GetMapping("/$aggregate")
+  public List<ObjectNode> aggregate(
+    @RequestParam(name = "q", required = false)
+    String query,
+    @RequestParam(name = "$groupBy", required = false)
+    List<String> groupBy,
+    @RequestParam(name = "$aggregate")
+    List<String> aggregates
+  )
+  {
+    return aggregate(dataRepository.getObject(), query, groupBy, aggregates);
+  }
+
+  @GetMapping("/$facets")
+  public ObjectNode facets(
+    @RequestParam(name = "q", required = false)
+    String query,
+    @RequestParam(name = "$fields")
+    List<String> fieldNames,
+    @RequestParam(name = "$limit", defaultValue = "10")
+    int limit
+  )
+  {
+    return facets(dataRepository.getObject(), query, fieldNames, limit);
+  }
+
+  static ObjectNode facets(JdbcDataRepository dataRepository, String query, List<String> fieldNames, int limit)
+  {
+    if (limit <= 0) throw new IllegalParameterException("Invalid limit: " + limit);
+
+    try
+    {
+      return dataRepository.facets(query, fieldNames, limit);
+    }
+    catch (IllegalArgumentException e)
+    {
+      throw new IllegalParameterException(e.getMessage(), e);
+    }
+  }
+
+  static List<ObjectNode> aggregate(JdbcDataRepository dataRepository, String query, List<String> groupBy, List<String> aggregates)
+  {
+    try
+    {
+      return dataRepository.aggregate(query, groupBy != null ? groupBy : emptyList(), aggregates.stream().map(Aggregate::parse).toList());
+    }
+    catch (IllegalArgumentException e)
+    {
+      throw new IllegalParameterException(e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.tn.service.data.jdbc.controller;
+
+import static java.util.Collections.emptySet;
+
+import static com.tn.service.data.jdbc.io.ArrowResultSetExtractor.APPLICATION_ARROW_STREAM;
+
+import java.util.Set;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.tn.service.data.domain.Direction;
+import com.tn.service.data.jdbc.io.ArrowResultSetExtractor;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+
+@RestController
+@ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
+public class ArrowDataController
+{
+  private final ObjectProvider<JdbcDataRepository> dataRepository;
+  private final ObjectProvider<BufferAllocator> allocator;
+  private final int batchSize;
+
+  public ArrowDataController(
+    ObjectProvider<JdbcDataRepository> dataRepository,
+    ObjectProvider<BufferAllocator> allocator,
+    @Value("${tn.data.arrow.batch-size:4096}")
+    int batchSize
+  )
+  {
+    this.dataRepository = dataRepository;
+    this.allocator = allocator;
+    this.batchSize = batchSize;
+  }
+
+  @GetMapping(path = "/", produces = APPLICATION_ARROW_STREAM)
+  public StreamingResponseBody get(
+    @RequestParam(name = "q", required = false)
+    String query,
+    @RequestParam(name = "$sort", required = false)
+    Set<String> sort,
+    @RequestParam(name = "$direction", defaultValue = "ASCENDING")
+    Direction direction
+  )
+  {
+    JdbcDataRepository dataRepository = this.dataRepository.getObject();
+    BufferAllocator allocator = this.allocator.getObject();
+
+    return outputStream -> dataRepository.extract(
+      query,
+      sort != null ? sort : emptySet(),
+      direction,
+      batchSize,
+      fields -> new ArrowResultSetExtractor(fields, allocator, outputStream, batchSize)
+    );
+  }
+}
@@ -0,0 +1,92 @@
+package com.tn.service.data.jdbc.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tn.service.IllegalParameterException;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+
+@RestController
+@ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
+public class BulkWriteController
+{
+  private static final String FIELD_COUNT = "count";
+  private static final String MESSAGE_RETURNING_UNSUPPORTED = "$returning requires data change delta tables";
+
+  private final ObjectProvider<JdbcDataRepository> dataRepository;
+
+  public BulkWriteController(ObjectProvider<JdbcDataRepository> dataRepository)
+  {
+    this.dataRepository = dataRepository;
+  }
+
+  @DeleteMapping("/$where")
+  public JsonNode deleteWhere(
+    @RequestParam(name = "q")
+    String query,
+    @RequestParam(name = "$returning", defaultValue = "false")
+    boolean returning
+  )
+  {
+    return deleteWhere(dataRepository.getObject(), query, returning);
+  }
+
+  @PatchMapping("/$where")
+  public JsonNode updateWhere(
+    @RequestParam(name = "q")
+    String query,
+    @RequestParam(name = "$returning", defaultValue = "false")
+    boolean returning,
+    @RequestBody
+    JsonNode patch
+  )
+  {
+    return updateWhere(dataRepository.getObject(), query, returning, patch);
+  }
+
+  static JsonNode deleteWhere(JdbcDataRepository dataRepository, String query, boolean returning)
+  {
+    if (returning && !dataRepository.hasDeltaTables()) throw new IllegalParameterException(MESSAGE_RETURNING_UNSUPPORTED);
+
+    try
+    {
+      return returning
+        ? JsonNodeFactory.instance.arrayNode().addAll(dataRepository.deleteWhereReturning(query))
+        : count(dataRepository.deleteWhere(query));
+    }
+    catch (IllegalArgumentException e)
+    {
+      throw new IllegalParameterException(e.getMessage(), e);
+    }
+  }
+
+  static JsonNode updateWhere(JdbcDataRepository dataRepository, String query, boolean returning, JsonNode patch)
+  {
+    if (!(patch instanceof ObjectNode patchObject)) throw new IllegalParameterException("Invalid patch");
+    if (returning && !dataRepository.hasDeltaTables()) throw new IllegalParameterException(MESSAGE_RETURNING_UNSUPPORTED);
+
+    try
+    {
+      return returning
+        ? JsonNodeFactory.instance.arrayNode().addAll(dataRepository.updateWhereReturning(query, patchObject))
+        : count(dataRepository.updateWhere(query, patchObject));
+    }
+    catch (IllegalArgumentException e)
+    {
+      throw new IllegalParameterException(e.getMessage(), e);
+    }
+  }
+
+  private static ObjectNode count(int count)
+  {
+    return JsonNodeFactory.instance.objectNode().put(FIELD_COUNT, count);
+  }
+}
@@ -0,0 +1,118 @@
+package com.tn.service.data.jdbc.controller;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static com.tn.service.data.jdbc.domain.FieldType.DATE;
+import static com.tn.service.data.jdbc.domain.FieldType.INTEGER;
+import static com.tn.service.data.jdbc.domain.FieldType.LONG;
+import static com.tn.service.data.jdbc.domain.FieldType.TIMESTAMP;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tn.service.IllegalParameterException;
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.domain.FieldType;
+import com.tn.service.data.jdbc.io.Base64IdentityParser;
+import com.tn.service.data.jdbc.io.KeyFormat;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.jdbc.repository.TableVersion;
+
+@RestController
+@ConditionalOnProperty({"tn.data.schema", "tn.data.table", "tn.data.changes.field"})
+public class ChangeFeedController implements ApplicationRunner
+{
+  private static final Set<FieldType> CHANGE_FIELD_TYPES = EnumSet.of(INTEGER, LONG, DATE, TIMESTAMP);
+  private static final String FIELD_CHANGES = "changes";
+  private static final String FIELD_CURSOR = "cursor";
+
+  private final ObjectProvider<JdbcDataRepository> dataRepository;
+  private final TableVersion tableVersion;
+  private final ExecutorService queryExecutor;
+  private final ObjectMapper objectMapper;
+  private final String changeField;
+  private final Duration maxWait;
+  private final KeyFormat keyFormat;
+
+  public ChangeFeedController(
+    ObjectProvider<JdbcDataRepository> dataRepository,
+    TableVersion tableVersion,
+    ExecutorService queryExecutor,
+    ObjectMapper objectMapper,
+    @Value("${tn.data.changes.field}")
+    String changeField,
+    @Value("${tn.data.changes.max-wait:20s}")
+    Duration maxWait,
+    @Value("${tn.data.key-format:JSON}")
+    KeyFormat keyFormat
+  )
+  {
+    this.dataRepository = dataRepository;
+    this.tableVersion = tableVersion;
+    this.queryExecutor = queryExecutor;
+    this.objectMapper = objectMapper;
+    this.changeField = changeField;
+    this.maxWait = maxWait;
+    this.keyFormat = keyFormat;
+  }
+
+  @Override
+  public void run(ApplicationArguments args)
+  {
+    // checked once the context is up, so that a misconfigured change field fails startup rather than every request
+    Field field = dataRepository.getObject().keysetFields(changeField).getFirst();
+    if (!CHANGE_FIELD_TYPES.contains(field.type())) throw new IllegalStateException("Unsupported change field type: " + field);
+  }
+
+  @GetMapping("/$changes")
+  public CompletableFuture<ObjectNode> changes(
+    @RequestParam(name = "$cursor", required = false)
+    String cursor,
+    @RequestParam(name = "$limit", defaultValue = "100")
+    int limit,
+    @RequestParam(name = "$wait", defaultValue = "0")
+    int wait
+  )
+  {
+    if (limit <= 0) throw new IllegalParameterException("Invalid limit: " + limit);
+
+    JdbcDataRepository dataRepository = this.dataRepository.getObject();
+    Base64IdentityParser cursorParser = new Base64IdentityParser(dataRepository.keysetFields(changeField), objectMapper, keyFormat);
+    ObjectNode after = cursor != null ? cursorParser.parse(cursor) : null;
+
+    // read before the query, so that a change made while it runs ends the wait immediately
+    String version = tableVersion.get();
+    List<ObjectNode> changes = dataRepository.findAfter(changeField, after, limit);
+    if (!changes.isEmpty() || wait <= 0) return CompletableFuture.completedFuture(changes(changes, cursorParser, cursor));
+
+    Duration timeout = Duration.ofSeconds(wait).compareTo(maxWait) < 0 ? Duration.ofSeconds(wait) : maxWait;
+
+    return tableVersion.onChange(version)
+      .completeOnTimeout(null, timeout.toMillis(), MILLISECONDS)
+      .thenApplyAsync(changed -> changes(dataRepository.findAfter(changeField, after, limit), cursorParser, cursor), queryExecutor);
+  }
+
+  private ObjectNode changes(List<ObjectNode> changes, Base64IdentityParser cursorParser, String cursor)
+  {
+    ObjectNode response = objectMapper.createObjectNode();
+    response.putArray(FIELD_CHANGES).addAll(changes);
+    response.put(FIELD_CURSOR, changes.isEmpty() ? cursor : cursorParser.format(changes.getLast()));
+
+    return response;
+  }
+}
@@ -0,0 +1,33 @@
+package com.tn.service.data.jdbc.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.tn.service.data.jdbc.export.ExportFormat;
+import com.tn.service.data.jdbc.export.ExportProgress;
+import com.tn.service.data.jdbc.export.TableExport;
+
+@RestController
+@ConditionalOnProperty({"tn.data.schema", "tn.data.table"})
+public class ExportController
+{
+  private final TableExport tableExport;
+
+  public ExportController(TableExport tableExport)
+  {
+    this.tableExport = tableExport;
+  }
+
+  @GetMapping("/$export")
+  public ResponseEntity<StreamingResponseBody> export(@RequestParam(name = "$format", defaultValue = "NDJSON") ExportFormat format)
+  {
+    return ResponseEntity.ok()
+      .contentType(MediaType.parseMediaType(format.contentType()))
+      .body(outputStream -> tableExport.write(outputStream, format, new ExportProgress()));
+  }
+}
@@ -0,0 +1,48 @@
+package com.tn.service.data.jdbc.controller;
+
+import static java.util.Collections.emptySet;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import com.tn.service.data.domain.Direction;
+import com.tn.service.data.jdbc.repository.R2dbcDataRepository;
+
+@RestController
+@ConditionalOnProperty(name = "tn.data.repository", havingValue = "r2dbc")
+public class ReactiveDataController
+{
+  private final ObjectProvider<R2dbcDataRepository> dataRepository;
+
+  public ReactiveDataController(ObjectProvider<R2dbcDataRepository> dataRepository)
+  {
+    this.dataRepository = dataRepository;
+  }
+
+  @GetMapping(path = "/", produces = APPLICATION_NDJSON_VALUE)
+  public Flux<ObjectNode> get(
+    @RequestParam(name = "q", required = false)
+    String query,
+    @RequestParam(name = "$sort", required = false)
+    Set<String> sort,
+    @RequestParam(name = "$direction", defaultValue = "ASCENDING")
+    Direction direction
+  )
+  {
+    R2dbcDataRepository dataRepository = this.dataRepository.getObject();
+
+    // rows are requested from the driver as the response is written, rather than collected first
+    return query != null
+      ? dataRepository.streamWhere(query, sort != null ? sort : emptySet(), direction)
+      : dataRepository.stream(sort != null ? sort : emptySet(), direction);
+  }
+}
@@ -0,0 +1,38 @@
+package com.tn.service.data.jdbc.controller;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RejectedExecutionAdvice
+{
+  private static final String FIELD_MESSAGE = "message";
+  private static final String MESSAGE_BUSY = "Too many concurrent requests";
+
+  private final ObjectMapper objectMapper;
+
+  public RejectedExecutionAdvice(ObjectMapper objectMapper)
+  {
+    this.objectMapper = objectMapper;
+  }
+
+  @ExceptionHandler(RejectedExecutionException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ObjectNode handleRejectedExecution(RejectedExecutionException e)
+  {
+    // the point lookup and group commit queues are full
+    ObjectNode error = objectMapper.createObjectNode();
+    error.put(FIELD_MESSAGE, MESSAGE_BUSY);
+
+    return error;
+  }
+}
@@ -0,0 +1,38 @@
+package com.tn.service.data.jdbc.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.tn.service.data.jdbc.repository.StaleObjectException;
+
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StaleObjectAdvice
+{
+  private static final String FIELD_MESSAGE = "message";
+  private static final String FIELD_STALE = "stale";
+
+  private final ObjectMapper objectMapper;
+
+  public StaleObjectAdvice(ObjectMapper objectMapper)
+  {
+    this.objectMapper = objectMapper;
+  }
+
+  @ExceptionHandler(StaleObjectException.class)
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public ObjectNode handleStaleObject(StaleObjectException e)
+  {
+    ObjectNode error = objectMapper.createObjectNode();
+    error.put(FIELD_MESSAGE, "Stale or missing objects");
+    error.putArray(FIELD_STALE).addAll(e.getStaleObjects());
+
+    return error;
+  }
+}
@@ -0,0 +1,311 @@
+package com.tn.service.data.jdbc.controller;
+
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+import static com.tn.service.data.jdbc.io.ArrowResultSetExtractor.APPLICATION_ARROW_STREAM;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.arrow.memory.BufferAllocator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.tn.service.IllegalParameterException;
+import com.tn.service.data.domain.Direction;
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.domain.Table;
+import com.tn.service.data.jdbc.io.ArrowResultSetExtractor;
+import com.tn.service.data.jdbc.io.Base64IdentityParser;
+import com.tn.service.data.jdbc.repository.AsyncDataRepository;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.jdbc.repository.JdbcDataRepositoryRegistry;
+
+@RestController
+@RequestMapping("/tables/{schema}/{table}")
+@ConditionalOnProperty(name = "tn.data.multi-table", havingValue = "true")
+public class TableDataController
+{
+  private static final int DEFAULT_PAGE_NUMBER = 0;
+  private static final int DEFAULT_PAGE_SIZE = 100;
+  private static final String FIELD_MESSAGE = "message";
+  private static final String MESSAGE_INVALID_BODY = "Invalid body";
+
+  private final JdbcDataRepositoryRegistry dataRepositoryRegistry;
+  private final Executor jdbcExecutor;
+  private final ObjectMapper objectMapper;
+  private final ObjectProvider<BufferAllocator> allocator;
+  private final int arrowBatchSize;
+
+  public TableDataController(
+    JdbcDataRepositoryRegistry dataRepositoryRegistry,
+    @Qualifier("jdbcExecutor")
+    Executor jdbcExecutor,
+    ObjectMapper objectMapper,
+    ObjectProvider<BufferAllocator> allocator,
+    @Value("${tn.data.arrow.batch-size:4096}")
+    int arrowBatchSize
+  )
+  {
+    this.dataRepositoryRegistry = dataRepositoryRegistry;
+    this.jdbcExecutor = jdbcExecutor;
+    this.objectMapper = objectMapper;
+    this.allocator = allocator;
+    this.arrowBatchSize = arrowBatchSize;
+  }
+
+  @GetMapping
+  public CompletableFuture<?> get(
+    @PathVariable String schema,
+    @PathVariable String table,
+    @RequestParam(name = "q", required = false)
+    String query,
+    @RequestParam(name = "$sort", required = false)
+    Set<String> sort,
+    @RequestParam(name = "$direction", defaultValue = "ASCENDING")
+    Direction direction,
+    @RequestParam(name = "$pageNumber", required = false)
+    Integer pageNumber,
+    @RequestParam(name = "$pageSize", required = false)
+    Integer pageSize
+  )
+  {
+    AsyncDataRepository dataRepository = asyncDataRepository(schema, table);
+    Set<String> sortFields = sort != null ? sort : emptySet();
+
+    if (pageNumber == null && pageSize == null)
+    {
+      return query != null
+        ? dataRepository.findWhere(query, sortFields, direction)
+        : dataRepository.findAll(sortFields, direction);
+    }
+
+    int number = pageNumber != null ? pageNumber : DEFAULT_PAGE_NUMBER;
+    int size = pageSize != null ? pageSize : DEFAULT_PAGE_SIZE;
+
+    return query != null
+      ? dataRepository.findWhere(query, number, size, sortFields, direction)
+      : dataRepository.findAll(number, size, sortFields, direction);
+  }
+
+  @GetMapping(produces = APPLICATION_ARROW_STREAM)
+  public StreamingResponseBody getArrow(
+    @PathVariable String schema,
+    @PathVariable String table,
+    @RequestParam(name = "q", required = false)
+    String query,
+    @RequestParam(name = "$sort", required = false)
+    Set<String> sort,
+    @RequestParam(name = "$direction", defaultValue = "ASCENDING")
+    Direction direction
+  )
+  {
+    JdbcDataRepository dataRepository = dataRepository(schema, table);
+    BufferAllocator allocator = this.allocator.getObject();
+
+    return outputStream -> dataRepository.extract(
+      query,
+      sort != null ? sort : emptySet(),
+      direction,
+      arrowBatchSize,
+      fields -> new ArrowResultSetExtractor(fields, allocator, outputStream, arrowBatchSize)
+    );
+  }
+
+  @GetMapping("/$aggregate")
+  public CompletableFuture<List<ObjectNode>> aggregate(
+    @PathVariable String schema,
+    @PathVariable String table,
+    @RequestParam(name = "q", required = false)
+    String query,
+    @RequestParam(name = "$groupBy", required = false)
+    List<String> groupBy,
+    @RequestParam(name = "$aggregate")
+    List<String> aggregates
+  )
+  {
+    JdbcDataRepository dataRepository = dataRepository(schema, table);
+
+    return supplyAsync(() -> AggregateController.aggregate(dataRepository, query, groupBy, aggregates), jdbcExecutor);
+  }
+
+  @GetMapping("/$facets")
+  public CompletableFuture<ObjectNode> facets(
+    @PathVariable String schema,
+    @PathVariable String table,
+    @RequestParam(name = "q", required = false)
+    String query,
+    @RequestParam(name = "$fields")
+    List<String> fieldNames,
+    @RequestParam(name = "$limit", defaultValue = "10")
+    int limit
+  )
+  {
+    JdbcDataRepository dataRepository = dataRepository(schema, table);
+
+    return supplyAsync(() -> AggregateController.facets(dataRepository, query, fieldNames, limit), jdbcExecutor);
+  }
+
+  @DeleteMapping("/$where")
+  public CompletableFuture<JsonNode> deleteWhere(
+    @PathVariable String schema,
+    @PathVariable String table,
+    @RequestParam(name = "q")
+    String query,
+    @RequestParam(name = "$returning", defaultValue = "false")
+    boolean returning
+  )
+  {
+    JdbcDataRepository dataRepository = dataRepository(schema, table);
+
+    return supplyAsync(() -> BulkWriteController.deleteWhere(dataRepository, query, returning), jdbcExecutor);
+  }
+
+  @PatchMapping("/$where")
+  public CompletableFuture<JsonNode> updateWhere(
+    @PathVariable String schema,
+    @PathVariable String table,
+    @RequestParam(name = "q")
+    String query,
+    @RequestParam(name = "$returning", defaultValue = "false")
+    boolean returning,
+    @RequestBody JsonNode patch
+  )
+  {
+    JdbcDataRepository dataRepository = dataRepository(schema, table);
+
+    return supplyAsync(() -> BulkWriteController.updateWhere(dataRepository, query, returning, patch), jdbcExecutor);
+  }
+
+  @GetMapping("/{key}")
+  public CompletableFuture<ResponseEntity<ObjectNode>> get(@PathVariable String schema, @PathVariable String table, @PathVariable String key)
+  {
+    JdbcDataRepository dataRepository = dataRepository(schema, table);
+    if (dataRepository.hasNumericKey())
+    {
+      long numericKey = numericKey(key);
+      return supplyAsync(() -> dataRepository.find(numericKey), jdbcExecutor).thenApply(ResponseEntity::of);
+    }
+
+    ObjectNode identity = identityParser(dataRepository).parse(key);
+
+    return asyncDataRepository(dataRepository).find(identity).thenApply(ResponseEntity::of);
+  }
+
+  @PostMapping
+  public CompletableFuture<?> post(@PathVariable String schema, @PathVariable String table, @RequestBody JsonNode body)
+  {
+    AsyncDataRepository dataRepository = asyncDataRepository(schema, table);
+
+    return body.isArray() ? dataRepository.insertAll(objects(body)) : dataRepository.insert(object(body));
+  }
+
+  @PutMapping
+  public CompletableFuture<?> put(@PathVariable String schema, @PathVariable String table, @RequestBody JsonNode body)
+  {
+    AsyncDataRepository dataRepository = asyncDataRepository(schema, table);
+
+    return body.isArray() ? dataRepository.updateAll(objects(body)) : dataRepository.update(object(body));
+  }
+
+  @DeleteMapping("/{key}")
+  public CompletableFuture<ResponseEntity<ObjectNode>> delete(@PathVariable String schema, @PathVariable String table, @PathVariable String key)
+  {
+    JdbcDataRepository dataRepository = dataRepository(schema, table);
+    ObjectNode identity = identityParser(dataRepository).parse(key);
+
+    return asyncDataRepository(dataRepository).delete(identity).thenApply(ResponseEntity::of);
+  }
+
+  @ExceptionHandler(IllegalParameterException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ObjectNode handleIllegalParameter(IllegalParameterException e)
+  {
+    ObjectNode error = objectMapper.createObjectNode();
+    error.put(FIELD_MESSAGE, e.getMessage());
+
+    return error;
+  }
+
+  private AsyncDataRepository asyncDataRepository(String schema, String table)
+  {
+    return asyncDataRepository(dataRepository(schema, table));
+  }
+
+  private AsyncDataRepository asyncDataRepository(JdbcDataRepository dataRepository)
+  {
+    return new AsyncDataRepository(dataRepository, jdbcExecutor);
+  }
+
+  private JdbcDataRepository dataRepository(String schema, String table)
+  {
+    try
+    {
+      return dataRepositoryRegistry.find(new Table(schema, table))
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No such table: " + schema + "." + table));
+    }
+    catch (IllegalArgumentException e)
+    {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+    }
+  }
+
+  private Base64IdentityParser identityParser(JdbcDataRepository dataRepository)
+  {
+    return new Base64IdentityParser(keyFields(dataRepository.fields()), objectMapper);
+  }
+
+  private long numericKey(String key)
+  {
+    try
+    {
+      return Long.parseLong(key);
+    }
+    catch (NumberFormatException e)
+    {
+      throw new IllegalParameterException("Cannot parse key: " + key, e);
+    }
+  }
+
+  private ObjectNode object(JsonNode body)
+  {
+    if (!body.isObject()) throw new IllegalParameterException(MESSAGE_INVALID_BODY);
+    return (ObjectNode)body;
+  }
+
+  private List<ObjectNode> objects(JsonNode body)
+  {
+    return StreamSupport.stream(body.spliterator(), false).map(this::object).toList();
+  }
+
+  private Collection<Field> keyFields(Collection<Field> fields)
+  {
+    return fields.stream().filter(field -> field.column().key()).toList();
+  }
+}
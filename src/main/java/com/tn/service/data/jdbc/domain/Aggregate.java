@@ -0,0 +1,89 @@
+package com.tn.service.data.jdbc.domain;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public record Aggregate(Function function, String fieldName)
+{
+  private static final Pattern AGGREGATE = Pattern.compile("\\s*([A-Za-z]+)\\s*\\(\\s*(\\*|[A-Za-z_][A-Za-z0-9_]*)\\s*\\)\\s*");
+  private static final String ALL = "*";
+  private static final String FORMAT = "%s(%s)";
+
+  public Aggregate
+  {
+    if (function == null) throw new IllegalArgumentException("Missing aggregate function");
+    if (fieldName == null && function != Function.COUNT) throw new IllegalArgumentException("Missing field for " + function);
+  }
+
+  public static Aggregate parse(String s)
+  {
+    Matcher matcher = AGGREGATE.matcher(s);
+    if (!matcher.matches()) throw new IllegalArgumentException("Invalid aggregate: " + s);
+
+    try
+    {
+      return new Aggregate(Function.valueOf(matcher.group(1).toUpperCase(Locale.ROOT)), ALL.equals(matcher.group(2)) ? null : matcher.group(2));
+    }
+    catch (IllegalArgumentException e)
+    {
+      throw new IllegalArgumentException("Invalid aggregate: " + s, e);
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return FORMAT.formatted(function.name().toLowerCase(Locale.ROOT), fieldName != null ? fieldName : ALL);
+  }
+
+  public enum Function
+  {
+    COUNT
+    {
+      @Override
+      public boolean accepts(FieldType fieldType)
+      {
+        return true;
+      }
+    },
+
+    SUM
+    {
+      @Override
+      public boolean accepts(FieldType fieldType)
+      {
+        return fieldType.isNumeric();
+      }
+    },
+
+    MIN
+    {
+      @Override
+      public boolean accepts(FieldType fieldType)
+      {
+        return fieldType != FieldType.BOOLEAN;
+      }
+    },
+
+    MAX
+    {
+      @Override
+      public boolean accepts(FieldType fieldType)
+      {
+        return fieldType != FieldType.BOOLEAN;
+      }
+    },
+
+    AVG
+    {
+      @Override
+      public boolean accepts(FieldType fieldType)
+      {
+        return fieldType.isNumeric();
+      }
+    };
+
+    public abstract boolean accepts(FieldType fieldType);
+  }
+}
@@ -1,5 +1,6 @@
 package com.tn.service.data.jdbc.domain;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
@@ -41,6 +42,30 @@ public record Field(String name, FieldType type, Column column)
     return (T)type.get(resultSet, column().name());
   }
 
+  public JsonNode getAsJsonType(ResultSet resultSet) throws SQLException
+  {
+    return type.getAsJsonType(resultSet, column().name());
+  }
+
+  public void setValue(PreparedStatement preparedStatement, int parameterIndex, ObjectNode object) throws SQLException
+  {
+    JsonNode value = getAsJsonType(object);
+    if (value == null)
+    {
+      preparedStatement.setNull(parameterIndex, column().type());
+      return;
+    }
+
+    try
+    {
+      type.setAsJsonType(preparedStatement, parameterIndex, value);
+    }
+    catch (IllegalArgumentException e)
+    {
+      throw new IllegalArgumentException("Field " + name() + ", value " + value + " is not of type " + type());
+    }
+  }
+
   public void set(ObjectNode object, Object value)
   {
     object.set(name(), type.asJsonType(value));
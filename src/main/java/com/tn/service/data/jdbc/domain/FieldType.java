@@ -1,7 +1,10 @@
 package com.tn.service.data.jdbc.domain;
 
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_TIME;
+
 import java.math.BigDecimal;
 import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Time;
@@ -28,6 +31,13 @@ public enum FieldType
       return value != null && value.isBoolean();
     }
 
+    @Override
+    public JsonNode getAsJsonType(ResultSet resultSet, String columnName) throws SQLException
+    {
+      boolean value = resultSet.getBoolean(columnName);
+      return resultSet.wasNull() ? null : BooleanNode.valueOf(value);
+    }
+
     @Override
     protected Object get(ResultSet resultSet, String columnName) throws SQLException
     {
@@ -35,6 +45,12 @@ public enum FieldType
       return resultSet.wasNull() ? null : value;
     }
 
+    @Override
+    protected void set(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException
+    {
+      preparedStatement.setBoolean(parameterIndex, value.asBoolean());
+    }
+
     @Override
     protected Object castJavaType(JsonNode value)
     {
@@ -62,6 +78,13 @@ public enum FieldType
       return value != null && value.isInt();
     }
 
+    @Override
+    public JsonNode getAsJsonType(ResultSet resultSet, String columnName) throws SQLException
+    {
+      int value = resultSet.getInt(columnName);
+      return resultSet.wasNull() ? null : IntNode.valueOf(value);
+    }
+
     @Override
     protected Object get(ResultSet resultSet, String columnName) throws SQLException
     {
@@ -69,6 +92,12 @@ public enum FieldType
       return resultSet.wasNull() ? null : value;
     }
 
+    @Override
+    protected void set(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException
+    {
+      preparedStatement.setInt(parameterIndex, value.asInt());
+    }
+
     @Override
     protected Object castJavaType(JsonNode value)
     {
@@ -103,6 +132,13 @@ public enum FieldType
       return LongNode.valueOf(value.asLong());
     }
 
+    @Override
+    public JsonNode getAsJsonType(ResultSet resultSet, String columnName) throws SQLException
+    {
+      long value = resultSet.getLong(columnName);
+      return resultSet.wasNull() ? null : LongNode.valueOf(value);
+    }
+
     @Override
     protected Object get(ResultSet resultSet, String columnName) throws SQLException
     {
@@ -110,6 +146,12 @@ public enum FieldType
       return resultSet.wasNull() ? null : value;
     }
 
+    @Override
+    protected void set(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException
+    {
+      preparedStatement.setLong(parameterIndex, value.asLong());
+    }
+
     @Override
     protected Object castJavaType(JsonNode value)
     {
@@ -147,6 +189,13 @@ public enum FieldType
       return FloatNode.valueOf((float)value.asDouble());
     }
 
+    @Override
+    public JsonNode getAsJsonType(ResultSet resultSet, String columnName) throws SQLException
+    {
+      float value = resultSet.getFloat(columnName);
+      return resultSet.wasNull() ? null : FloatNode.valueOf(value);
+    }
+
     @Override
     protected Object get(ResultSet resultSet, String columnName) throws SQLException
     {
@@ -154,6 +203,12 @@ public enum FieldType
       return resultSet.wasNull() ? null : value;
     }
 
+    @Override
+    protected void set(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException
+    {
+      preparedStatement.setFloat(parameterIndex, value.floatValue());
+    }
+
     @Override
     protected Object castJavaType(JsonNode value)
     {
@@ -181,6 +236,13 @@ public enum FieldType
       return value != null && value.isDouble();
     }
 
+    @Override
+    public JsonNode getAsJsonType(ResultSet resultSet, String columnName) throws SQLException
+    {
+      double value = resultSet.getDouble(columnName);
+      return resultSet.wasNull() ? null : DoubleNode.valueOf(value);
+    }
+
     @Override
     protected Object get(ResultSet resultSet, String columnName) throws SQLException
     {
@@ -188,6 +250,12 @@ public enum FieldType
       return resultSet.wasNull() ? null : value;
     }
 
+    @Override
+    protected void set(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException
+    {
+      preparedStatement.setDouble(parameterIndex, value.asDouble());
+    }
+
     @Override
     protected Object castJavaType(JsonNode value)
     {
@@ -229,6 +297,12 @@ public enum FieldType
       return resultSet.wasNull() ? null : value;
     }
 
+    @Override
+    protected void set(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException
+    {
+      preparedStatement.setBigDecimal(parameterIndex, value.decimalValue());
+    }
+
     @Override
     protected Object castJavaType(JsonNode value)
     {
@@ -263,6 +337,12 @@ public enum FieldType
       return resultSet.wasNull() ? null : value;
     }
 
+    @Override
+    protected void set(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException
+    {
+      preparedStatement.setString(parameterIndex, value.asText());
+    }
+
     @Override
     protected Object castJavaType(JsonNode value)
     {
@@ -304,6 +384,12 @@ public enum FieldType
       return resultSet.wasNull() ? null : value;
     }
 
+    @Override
+    protected void set(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException
+    {
+      preparedStatement.setDate(parameterIndex, Date.valueOf(value.asText()));
+    }
+
     @Override
     protected Object castJavaType(JsonNode value)
     {
@@ -331,7 +417,7 @@ public enum FieldType
       try
       {
         //noinspection ConstantValue
-        return value != null && value.isTextual() && Time.valueOf(LocalTime.parse(value.asText())) != null;
+        return value != null && value.isTextual() && parseTime(value.asText()) != null;
       }
       catch (IllegalArgumentException e)
       {
@@ -346,22 +432,28 @@ public enum FieldType
       return resultSet.wasNull() ? null : value;
     }
 
+    @Override
+    protected void set(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException
+    {
+      preparedStatement.setTime(parameterIndex, parseTime(value.asText()));
+    }
+
     @Override
     protected Object castJavaType(JsonNode value)
     {
-      return Time.valueOf(value.asText());
+      return parseTime(value.asText());
     }
 
     @Override
     protected JsonNode castJsonType(Object value)
     {
-      return TextNode.valueOf(value.toString());
+      return TextNode.valueOf(localTime((Time)value).format(ISO_LOCAL_TIME));
     }
 
     @Override
     protected Object parse(String s)
     {
-      return Time.valueOf(LocalTime.parse(s));
+      return parseTime(s);
     }
   },
 
@@ -388,6 +480,12 @@ public enum FieldType
       return resultSet.wasNull() ? null : value;
     }
 
+    @Override
+    protected void set(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException
+    {
+      preparedStatement.setTimestamp(parameterIndex, Timestamp.valueOf(LocalDateTime.parse(value.asText())));
+    }
+
     @Override
     protected Object castJavaType(JsonNode value)
     {
@@ -437,6 +535,23 @@ public enum FieldType
     return (T)castJsonType(value);
   }
 
+  public JsonNode getAsJsonType(ResultSet resultSet, String columnName) throws SQLException
+  {
+    return asJsonType(get(resultSet, columnName));
+  }
+
+  public void setAsJsonType(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException
+  {
+    if (!isJsonType(value)) throw new IllegalArgumentException("Value " + value + " is not of type " + this);
+
+    set(preparedStatement, parameterIndex, value);
+  }
+
+  public boolean isNumeric()
+  {
+    return Number.class.isAssignableFrom(javaType);
+  }
+
   public boolean isJavaType(Object value)
   {
     return value != null && value.getClass() == javaType;
@@ -456,9 +571,30 @@ public enum FieldType
 
   protected abstract Object get(ResultSet resultSet, String columnName) throws SQLException;
 
+  protected abstract void set(PreparedStatement preparedStatement, int parameterIndex, JsonNode value) throws SQLException;
+
   protected abstract Object castJavaType(JsonNode value);
 
   protected abstract JsonNode castJsonType(Object value);
 
   protected abstract Object parse(String s);
+
+  public static Time time(LocalTime localTime)
+  {
+    // Time.valueOf drops the fraction, of which a Time holds the milliseconds
+    Time time = Time.valueOf(localTime);
+    time.setTime(time.getTime() + localTime.getNano() / 1_000_000);
+
+    return time;
+  }
+
+  public static LocalTime localTime(Time time)
+  {
+    return time.toLocalTime().withNano((int)Math.floorMod(time.getTime(), 1000L) * 1_000_000);
+  }
+
+  private static Time parseTime(String s)
+  {
+    return time(LocalTime.parse(s));
+  }
 }
@@ -0,0 +1,34 @@
+package com.tn.service.data.jdbc.domain;
+
+import java.util.regex.Pattern;
+
+public record Table(String schema, String name)
+{
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+  private static final String SEPARATOR = ".";
+
+  public Table
+  {
+    if (!isIdentifier(schema)) throw new IllegalArgumentException("Invalid schema: " + schema);
+    if (!isIdentifier(name)) throw new IllegalArgumentException("Invalid table: " + name);
+  }
+
+  public static Table parse(String s)
+  {
+    int separator = s.indexOf(SEPARATOR);
+    if (separator < 0) throw new IllegalArgumentException("Invalid table: " + s);
+
+    return new Table(s.substring(0, separator).trim(), s.substring(separator + 1).trim());
+  }
+
+  @Override
+  public String toString()
+  {
+    return schema + SEPARATOR + name;
+  }
+
+  private static boolean isIdentifier(String s)
+  {
+    return s != null && IDENTIFIER.matcher(s).matches();
+  }
+}
@@ -0,0 +1,91 @@
+package com.tn.service.data.jdbc.export;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import com.tn.service.data.jdbc.domain.Field;
+
+public enum ExportFormat
+{
+  NDJSON("application/x-ndjson", "ndjson")
+  {
+    @Override
+    public String header(List<Field> fields)
+    {
+      return "";
+    }
+
+    @Override
+    public String line(ObjectMapper objectMapper, List<Field> fields, ObjectNode object) throws IOException
+    {
+      return objectMapper.writeValueAsString(object) + LINE_SEPARATOR;
+    }
+  },
+
+  CSV("text/csv", "csv")
+  {
+    @Override
+    public String header(List<Field> fields)
+    {
+      return fields.stream().map(field -> quoted(field.name())).collect(joining(CSV_SEPARATOR)) + LINE_SEPARATOR;
+    }
+
+    @Override
+    public String line(ObjectMapper objectMapper, List<Field> fields, ObjectNode object)
+    {
+      return fields.stream().map(field -> value(field, object.get(field.name()))).collect(joining(CSV_SEPARATOR)) + LINE_SEPARATOR;
+    }
+
+    private String value(Field field, JsonNode value)
+    {
+      if (value == null || value.isNull()) return "";
+
+      return switch (field.type())
+      {
+        case TEXT -> quoted(value.asText());
+        // plain, as a scientific notation decimal would be read back as a floating point number
+        case DECIMAL -> value.decimalValue().toPlainString();
+        default -> value.asText();
+      };
+    }
+
+    private String quoted(String value)
+    {
+      if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) return value;
+
+      return '"' + value.replace("\"", "\"\"") + '"';
+    }
+  };
+
+  private static final String CSV_SEPARATOR = ",";
+  private static final String LINE_SEPARATOR = "\n";
+
+  private final String contentType;
+  private final String extension;
+
+  ExportFormat(String contentType, String extension)
+  {
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  public String contentType()
+  {
+    return contentType;
+  }
+
+  public String extension()
+  {
+    return extension;
+  }
+
+  public abstract String header(List<Field> fields);
+
+  public abstract String line(ObjectMapper objectMapper, List<Field> fields, ObjectNode object) throws IOException;
+}
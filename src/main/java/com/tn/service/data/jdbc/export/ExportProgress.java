@@ -0,0 +1,68 @@
+package com.tn.service.data.jdbc.export;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ExportProgress
+{
+  public enum State
+  {
+    RUNNING,
+    COMPLETE,
+    FAILED
+  }
+
+  private final AtomicInteger completedChunks = new AtomicInteger();
+  private final AtomicLong rows = new AtomicLong();
+  private volatile Integer chunks;
+  private volatile State state = State.RUNNING;
+  private volatile String message;
+
+  // null when chunks are read one after another by key, as their number isn't known until the last
+  public Integer getChunks()
+  {
+    return chunks;
+  }
+
+  public int getCompletedChunks()
+  {
+    return completedChunks.get();
+  }
+
+  public long getRows()
+  {
+    return rows.get();
+  }
+
+  public State getState()
+  {
+    return state;
+  }
+
+  public String getMessage()
+  {
+    return message;
+  }
+
+  void start(Integer chunks)
+  {
+    this.chunks = chunks;
+  }
+
+  void chunkCompleted(long chunkRows)
+  {
+    completedChunks.incrementAndGet();
+    rows.addAndGet(chunkRows);
+  }
+
+  void complete()
+  {
+    state = State.COMPLETE;
+  }
+
+  void fail(Exception e)
+  {
+    message = e.getMessage();
+    state = State.FAILED;
+  }
+}
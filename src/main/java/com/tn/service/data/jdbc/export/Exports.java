@@ -0,0 +1,69 @@
+package com.tn.service.data.jdbc.export;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class Exports
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger(Exports.class);
+  private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+  private final TableExport tableExport;
+  private final Path directory;
+  private final Map<String, ExportProgress> exports = new ConcurrentHashMap<>();
+
+  public Exports(TableExport tableExport, Path directory)
+  {
+    this.tableExport = tableExport;
+    this.directory = directory;
+  }
+
+  public ExportProgress start(String name, ExportFormat format)
+  {
+    // the name becomes a directory, so is kept to one that can't leave the export directory
+    if (!NAME.matcher(name).matches()) throw new IllegalArgumentException("Invalid export name: " + name);
+
+    // a running export is reported rather than started twice, and a failed one resumes from its last completed chunk
+    return exports.compute(
+      name,
+      (key, existing) -> existing != null && existing.getState() == ExportProgress.State.RUNNING ? existing : run(name, format)
+    );
+  }
+
+  public ExportProgress progress(String name)
+  {
+    return exports.get(name);
+  }
+
+  public Map<String, ExportProgress> all()
+  {
+    return Map.copyOf(exports);
+  }
+
+  private ExportProgress run(String name, ExportFormat format)
+  {
+    ExportProgress progress = new ExportProgress();
+
+    Thread.ofPlatform().name("export-" + name).start(
+      () ->
+      {
+        try
+        {
+          tableExport.write(directory.resolve(name), format, progress);
+        }
+        catch (IOException | RuntimeException e)
+        {
+          LOGGER.warn("Export {} failed", name, e);
+        }
+      }
+    );
+
+    return progress;
+  }
+}
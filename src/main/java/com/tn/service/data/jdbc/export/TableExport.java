@@ -0,0 +1,395 @@
+package com.tn.service.data.jdbc.export;
+
+import static java.lang.Math.ceilDiv;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository.KeyRange;
+
+public class TableExport
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger(TableExport.class);
+
+  private static final String CHUNK_PREFIX = "export-chunk-";
+  private static final String MANIFEST = "manifest.json";
+  private static final String MARKER = "part-%05d.done";
+  private static final String PART = "part-%05d.%s";
+  private static final String SUCCESS = "_SUCCESS";
+  private static final String TEMPORARY = ".tmp";
+
+  private final Supplier<JdbcDataRepository> dataRepository;
+  private final ObjectMapper objectMapper;
+  private final int parallelism;
+  private final int chunkRows;
+
+  public TableExport(Supplier<JdbcDataRepository> dataRepository, ObjectMapper objectMapper, int parallelism, int chunkRows)
+  {
+    this.dataRepository = dataRepository;
+    this.objectMapper = objectMapper;
+    this.parallelism = parallelism;
+    this.chunkRows = chunkRows;
+  }
+
+  public void write(OutputStream outputStream, ExportFormat format, ExportProgress progress) throws IOException
+  {
+    JdbcDataRepository dataRepository = this.dataRepository.get();
+    List<Field> fields = List.copyOf(dataRepository.fields());
+    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+
+    try
+    {
+      writer.write(format.header(fields));
+
+      if (dataRepository.hasNumericKey())
+      {
+        List<Range> ranges = ranges(dataRepository);
+        progress.start(ranges.size());
+
+        Deque<Future<Chunk>> pending = new ArrayDeque<>();
+        try (ExecutorService executor = executor())
+        {
+          // ranges are read ahead on up to parallelism connections, but written in key order
+          Iterator<Range> remaining = ranges.iterator();
+          while (remaining.hasNext() || !pending.isEmpty())
+          {
+            while (remaining.hasNext() && pending.size() < parallelism)
+            {
+              Range range = remaining.next();
+              pending.add(executor.submit(() -> chunk(dataRepository, format, fields, range)));
+            }
+
+            Chunk chunk = join(pending.removeFirst());
+            try
+            {
+              writer.flush();
+              Files.copy(chunk.file(), outputStream);
+            }
+            finally
+            {
+              Files.deleteIfExists(chunk.file());
+            }
+            progress.chunkCompleted(chunk.rows());
+          }
+        }
+        finally
+        {
+          // after the executor has closed, so every chunk read ahead of a failure has finished and can be removed
+          discard(pending);
+        }
+      }
+      else
+      {
+        progress.start(null);
+
+        ObjectNode after = null;
+        List<ObjectNode> page;
+        do
+        {
+          page = dataRepository.findAfter(null, after, chunkRows);
+          if (page.isEmpty()) break;
+
+          LineWriter lineWriter = new LineWriter(writer, format, fields);
+          page.forEach(lineWriter);
+          progress.chunkCompleted(lineWriter.rows);
+
+          after = dataRepository.key(page.getLast());
+        }
+        while (page.size() == chunkRows);
+      }
+
+      writer.flush();
+      progress.complete();
+
+      LOGGER.info("Exported {} rows in {} chunks", progress.getRows(), progress.getCompletedChunks());
+    }
+    catch (IOException | RuntimeException e)
+    {
+      progress.fail(e);
+      throw e;
+    }
+  }
+
+  public void write(Path directory, ExportFormat format, ExportProgress progress) throws IOException
+  {
+    JdbcDataRepository dataRepository = this.dataRepository.get();
+    List<Field> fields = List.copyOf(dataRepository.fields());
+
+    try
+    {
+      Files.createDirectories(directory);
+      Manifest manifest = manifest(dataRepository, directory, format);
+
+      if (manifest.ranges() != null)
+      {
+        progress.start(manifest.ranges().size());
+
+        try (ExecutorService executor = executor())
+        {
+          List<Future<Marker>> parts = new ArrayList<>();
+          for (int i = 0; i < manifest.ranges().size(); i++)
+          {
+            // a chunk with a marker was completed by an earlier run, and one without is written again from its start
+            Marker marker = marker(directory, i);
+            if (marker != null)
+            {
+              progress.chunkCompleted(marker.rows());
+              continue;
+            }
+
+            int index = i;
+            Range range = manifest.ranges().get(i);
+            parts.add(
+              executor.submit(
+                () -> writePart(dataRepository, directory, index, format, fields, progress, lines -> dataRepository.scan(range.from(), range.to(), lines))
+              )
+            );
+          }
+
+          for (Future<Marker> part : parts) join(part);
+        }
+      }
+      else
+      {
+        progress.start(null);
+
+        // chunks follow one another by key, so an export resumes after the last key of the last completed chunk
+        int index = 0;
+        ObjectNode after = null;
+        for (Marker marker = marker(directory, index); marker != null; marker = marker(directory, ++index))
+        {
+          progress.chunkCompleted(marker.rows());
+          after = marker.last();
+        }
+
+        List<ObjectNode> page;
+        do
+        {
+          page = dataRepository.findAfter(null, after, chunkRows);
+          if (page.isEmpty()) break;
+
+          writePart(dataRepository, directory, index++, format, fields, progress, page::forEach);
+          after = dataRepository.key(page.getLast());
+        }
+        while (page.size() == chunkRows);
+      }
+
+      Files.writeString(directory.resolve(SUCCESS), "");
+      progress.complete();
+
+      LOGGER.info("Exported {} rows in {} chunks to {}", progress.getRows(), progress.getCompletedChunks(), directory);
+    }
+    catch (IOException | RuntimeException e)
+    {
+      progress.fail(e);
+      throw e;
+    }
+  }
+
+  private List<Range> ranges(JdbcDataRepository dataRepository)
+  {
+    KeyRange keyRange = dataRepository.numericKeyRange().orElse(null);
+    if (keyRange == null) return List.of();
+
+    // sized by the row count, assuming keys spread evenly; the key span is unsigned so that it can't overflow
+    long chunks = Math.max(1, ceilDiv(keyRange.count(), chunkRows));
+    long step = Long.divideUnsigned(keyRange.max() - keyRange.min(), chunks);
+
+    List<Range> ranges = new ArrayList<>();
+    long from = keyRange.min();
+    while (true)
+    {
+      long to = Long.compareUnsigned(keyRange.max() - from, step) <= 0 ? keyRange.max() : from + step;
+      ranges.add(new Range(from, to));
+
+      if (to == keyRange.max()) return ranges;
+      from = to + 1;
+    }
+  }
+
+  private Chunk chunk(JdbcDataRepository dataRepository, ExportFormat format, List<Field> fields, Range range) throws IOException
+  {
+    // spilled to a file rather than held in memory, as a range of skewed keys can hold many times its share of the rows
+    Path file = Files.createTempFile(CHUNK_PREFIX, TEMPORARY);
+    try (Writer writer = Files.newBufferedWriter(file, UTF_8))
+    {
+      LineWriter lineWriter = new LineWriter(writer, format, fields);
+      dataRepository.scan(range.from(), range.to(), lineWriter);
+
+      return new Chunk(file, lineWriter.rows);
+    }
+    catch (IOException | RuntimeException e)
+    {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+  }
+
+  private void discard(Deque<Future<Chunk>> pending)
+  {
+    for (Future<Chunk> chunk : pending)
+    {
+      if (chunk.state() != Future.State.SUCCESS) continue;
+
+      try
+      {
+        Files.deleteIfExists(chunk.resultNow().file());
+      }
+      catch (IOException e)
+      {
+        LOGGER.warn("Failed to delete export chunk {}", chunk.resultNow().file(), e);
+      }
+    }
+  }
+
+  private Marker writePart(
+    JdbcDataRepository dataRepository,
+    Path directory,
+    int index,
+    ExportFormat format,
+    List<Field> fields,
+    ExportProgress progress,
+    Consumer<Consumer<ObjectNode>> objects
+  ) throws IOException
+  {
+    LineWriter lineWriter;
+    try (Writer writer = Files.newBufferedWriter(directory.resolve(PART.formatted(index, format.extension())), UTF_8))
+    {
+      writer.write(format.header(fields));
+
+      lineWriter = new LineWriter(writer, format, fields);
+      objects.accept(lineWriter);
+    }
+
+    Marker marker = new Marker(lineWriter.rows, lineWriter.last != null ? dataRepository.key(lineWriter.last) : null);
+    writeAtomically(directory.resolve(MARKER.formatted(index)), marker);
+    progress.chunkCompleted(marker.rows());
+
+    LOGGER.debug("Exported chunk {} of {} rows to {}", index, marker.rows(), directory);
+
+    return marker;
+  }
+
+  private Manifest manifest(JdbcDataRepository dataRepository, Path directory, ExportFormat format) throws IOException
+  {
+    Path path = directory.resolve(MANIFEST);
+    if (Files.exists(path))
+    {
+      // the chunks are those planned when the export began, so a resumed export writes the same parts
+      Manifest manifest = objectMapper.readValue(path.toFile(), Manifest.class);
+      if (manifest.format() != format) throw new IllegalStateException("Export in " + directory + " was started as " + manifest.format());
+
+      return manifest;
+    }
+
+    Manifest manifest = new Manifest(format, chunkRows, dataRepository.hasNumericKey() ? ranges(dataRepository) : null);
+    writeAtomically(path, manifest);
+
+    return manifest;
+  }
+
+  private Marker marker(Path directory, int index) throws IOException
+  {
+    Path path = directory.resolve(MARKER.formatted(index));
+    return Files.exists(path) ? objectMapper.readValue(path.toFile(), Marker.class) : null;
+  }
+
+  private void writeAtomically(Path path, Object value) throws IOException
+  {
+    Path temporary = path.resolveSibling(path.getFileName() + TEMPORARY);
+    objectMapper.writeValue(temporary.toFile(), value);
+    Files.move(temporary, path, ATOMIC_MOVE, REPLACE_EXISTING);
+  }
+
+  private ExecutorService executor()
+  {
+    return Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("export-", 0).factory());
+  }
+
+  private static <T> T join(Future<T> future) throws IOException
+  {
+    try
+    {
+      return future.get();
+    }
+    catch (ExecutionException e)
+    {
+      if (e.getCause() instanceof UncheckedIOException uncheckedIOException) throw uncheckedIOException.getCause();
+      if (e.getCause() instanceof IOException ioException) throw ioException;
+      if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+      throw new IllegalStateException(e.getCause());
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Export interrupted");
+    }
+  }
+
+  record Range(long from, long to) {}
+
+  record Manifest(ExportFormat format, int chunkRows, List<Range> ranges) {}
+
+  record Marker(long rows, ObjectNode last) {}
+
+  private record Chunk(Path file, long rows) {}
+
+  private class LineWriter implements Consumer<ObjectNode>
+  {
+    private final Appendable appendable;
+    private final ExportFormat format;
+    private final List<Field> fields;
+    private long rows;
+    private ObjectNode last;
+
+    private LineWriter(Appendable appendable, ExportFormat format, List<Field> fields)
+    {
+      this.appendable = appendable;
+      this.format = format;
+      this.fields = fields;
+    }
+
+    @Override
+    public void accept(ObjectNode object)
+    {
+      try
+      {
+        appendable.append(format.line(objectMapper, fields, object));
+        rows++;
+        last = object;
+      }
+      catch (IOException e)
+      {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
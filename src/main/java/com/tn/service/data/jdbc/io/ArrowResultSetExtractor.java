@@ -0,0 +1,243 @@
+package com.tn.service.data.jdbc.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneOffset.UTC;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.annotation.Nonnull;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import com.tn.service.data.jdbc.domain.Field;
+
+public class ArrowResultSetExtractor implements ResultSetExtractor<Long>
+{
+  public static final String APPLICATION_ARROW_STREAM = "application/vnd.apache.arrow.stream";
+
+  private static final int DECIMAL_BIT_WIDTH = 128;
+  private static final int DECIMAL_MAX_PRECISION = 38;
+  private static final int MICROS_PER_SECOND = 1_000_000;
+  private static final int NANOS_PER_MICRO = 1_000;
+  private static final int NANOS_PER_MILLI = 1_000_000;
+
+  private final List<Field> fields;
+  private final BufferAllocator allocator;
+  private final OutputStream outputStream;
+  private final int batchSize;
+
+  public ArrowResultSetExtractor(List<Field> fields, BufferAllocator allocator, OutputStream outputStream, int batchSize)
+  {
+    this.fields = fields;
+    this.allocator = allocator;
+    this.outputStream = outputStream;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public Long extractData(@Nonnull ResultSet resultSet) throws SQLException
+  {
+    try (
+      BufferAllocator batchAllocator = allocator.newChildAllocator("arrow-stream", 0, allocator.getLimit());
+      VectorSchemaRoot root = VectorSchemaRoot.create(schema(resultSet.getMetaData()), batchAllocator);
+      ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(outputStream))
+    )
+    {
+      List<ColumnWriter> columnWriters = columnWriters(root);
+      long count = 0;
+      int row = 0;
+
+      writer.start();
+
+      while (resultSet.next())
+      {
+        for (ColumnWriter columnWriter : columnWriters) columnWriter.write(resultSet, row);
+
+        if (++row == batchSize)
+        {
+          writeBatch(root, writer, row);
+          count += row;
+          row = 0;
+        }
+      }
+
+      if (row > 0) writeBatch(root, writer, row);
+
+      writer.end();
+
+      return count + row;
+    }
+    catch (IOException e)
+    {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeBatch(VectorSchemaRoot root, ArrowStreamWriter writer, int rowCount) throws IOException
+  {
+    root.setRowCount(rowCount);
+    writer.writeBatch();
+    root.getFieldVectors().forEach(FieldVector::reset);
+  }
+
+  private Schema schema(ResultSetMetaData metaData) throws SQLException
+  {
+    List<org.apache.arrow.vector.types.pojo.Field> arrowFields = new ArrayList<>(fields.size());
+    for (int i = 0; i < fields.size(); i++)
+    {
+      Field field = fields.get(i);
+      ArrowType arrowType = arrowType(field, metaData, i + 1);
+
+      arrowFields.add(
+        field.column().nullable()
+          ? org.apache.arrow.vector.types.pojo.Field.nullable(field.name(), arrowType)
+          : org.apache.arrow.vector.types.pojo.Field.notNullable(field.name(), arrowType)
+      );
+    }
+
+    return new Schema(arrowFields);
+  }
+
+  private ArrowType arrowType(Field field, ResultSetMetaData metaData, int columnIndex) throws SQLException
+  {
+    return switch (field.type())
+    {
+      case BOOLEAN -> ArrowType.Bool.INSTANCE;
+      case INTEGER -> new ArrowType.Int(32, true);
+      case LONG -> new ArrowType.Int(64, true);
+      case FLOAT -> new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+      case DOUBLE -> new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+      case DECIMAL -> decimal(metaData.getPrecision(columnIndex), metaData.getScale(columnIndex));
+      case TEXT -> ArrowType.Utf8.INSTANCE;
+      case DATE -> new ArrowType.Date(DateUnit.DAY);
+      case TIME -> new ArrowType.Time(TimeUnit.MILLISECOND, 32);
+      case TIMESTAMP -> new ArrowType.Timestamp(TimeUnit.MICROSECOND, null);
+    };
+  }
+
+  private ArrowType decimal(int precision, int scale)
+  {
+    // drivers report 0, or very large values, for unconstrained NUMERIC columns
+    return new ArrowType.Decimal(precision > 0 && precision <= DECIMAL_MAX_PRECISION ? precision : DECIMAL_MAX_PRECISION, scale, DECIMAL_BIT_WIDTH);
+  }
+
+  private List<ColumnWriter> columnWriters(VectorSchemaRoot root)
+  {
+    List<ColumnWriter> columnWriters = new ArrayList<>(fields.size());
+    for (int i = 0; i < fields.size(); i++) columnWriters.add(columnWriter(fields.get(i), root.getVector(i), i + 1));
+
+    return columnWriters;
+  }
+
+  private ColumnWriter columnWriter(Field field, FieldVector vector, int columnIndex)
+  {
+    return switch (field.type())
+    {
+      case BOOLEAN -> (resultSet, row) ->
+      {
+        boolean value = resultSet.getBoolean(columnIndex);
+        if (resultSet.wasNull()) ((BitVector)vector).setNull(row);
+        else ((BitVector)vector).setSafe(row, value ? 1 : 0);
+      };
+      case INTEGER -> (resultSet, row) ->
+      {
+        int value = resultSet.getInt(columnIndex);
+        if (resultSet.wasNull()) ((IntVector)vector).setNull(row);
+        else ((IntVector)vector).setSafe(row, value);
+      };
+      case LONG -> (resultSet, row) ->
+      {
+        long value = resultSet.getLong(columnIndex);
+        if (resultSet.wasNull()) ((BigIntVector)vector).setNull(row);
+        else ((BigIntVector)vector).setSafe(row, value);
+      };
+      case FLOAT -> (resultSet, row) ->
+      {
+        float value = resultSet.getFloat(columnIndex);
+        if (resultSet.wasNull()) ((Float4Vector)vector).setNull(row);
+        else ((Float4Vector)vector).setSafe(row, value);
+      };
+      case DOUBLE -> (resultSet, row) ->
+      {
+        double value = resultSet.getDouble(columnIndex);
+        if (resultSet.wasNull()) ((Float8Vector)vector).setNull(row);
+        else ((Float8Vector)vector).setSafe(row, value);
+      };
+      case DECIMAL -> (resultSet, row) ->
+      {
+        BigDecimal value = resultSet.getBigDecimal(columnIndex);
+        if (value == null) ((DecimalVector)vector).setNull(row);
+        else ((DecimalVector)vector).setSafe(row, value.setScale(((DecimalVector)vector).getScale(), RoundingMode.HALF_UP));
+      };
+      case TEXT -> (resultSet, row) ->
+      {
+        String value = resultSet.getString(columnIndex);
+        if (value == null) ((VarCharVector)vector).setNull(row);
+        else ((VarCharVector)vector).setSafe(row, value.getBytes(UTF_8));
+      };
+      case DATE -> (resultSet, row) ->
+      {
+        Date value = resultSet.getDate(columnIndex);
+        if (value == null) ((DateDayVector)vector).setNull(row);
+        else ((DateDayVector)vector).setSafe(row, (int)value.toLocalDate().toEpochDay());
+      };
+      case TIME -> (resultSet, row) ->
+      {
+        // read as a LocalTime, since java.sql.Time drops fractions of a second
+        LocalTime value = resultSet.getObject(columnIndex, LocalTime.class);
+        if (value == null) ((TimeMilliVector)vector).setNull(row);
+        else ((TimeMilliVector)vector).setSafe(row, (int)(value.toNanoOfDay() / NANOS_PER_MILLI));
+      };
+      case TIMESTAMP -> (resultSet, row) ->
+      {
+        Timestamp value = resultSet.getTimestamp(columnIndex);
+        if (value == null) ((TimeStampMicroVector)vector).setNull(row);
+        else ((TimeStampMicroVector)vector).setSafe(row, micros(value.toLocalDateTime()));
+      };
+    };
+  }
+
+  private static long micros(LocalDateTime value)
+  {
+    return value.toEpochSecond(UTC) * MICROS_PER_SECOND + value.getNano() / NANOS_PER_MICRO;
+  }
+
+  @FunctionalInterface
+  private interface ColumnWriter
+  {
+    void write(ResultSet resultSet, int row) throws SQLException;
+  }
+}
@@ -6,8 +6,11 @@ import java.util.Base64;
 import java.util.Collection;
 import java.util.function.Consumer;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.LongNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import com.tn.service.IllegalParameterException;
@@ -18,11 +21,18 @@ public class Base64IdentityParser implements IdentityParser<String, ObjectNode>
 {
   private final Collection<Field> keyFields;
   private final ObjectMapper objectMapper;
+  private final KeyFormat keyFormat;
 
   public Base64IdentityParser(Collection<Field> keyFields, ObjectMapper objectMapper)
+  {
+    this(keyFields, objectMapper, KeyFormat.JSON);
+  }
+
+  public Base64IdentityParser(Collection<Field> keyFields, ObjectMapper objectMapper, KeyFormat keyFormat)
   {
     this.keyFields = keyFields;
     this.objectMapper = objectMapper;
+    this.keyFormat = keyFormat;
   }
 
   @Override
@@ -31,18 +41,48 @@ public class Base64IdentityParser implements IdentityParser<String, ObjectNode>
     return keyFields.size() > 1 ? parseAsObject(key) : parseAsValue(key);
   }
 
+  public String format(ObjectNode key)
+  {
+    if (keyFields.size() == 1) return key.get(keyFields.iterator().next().name()).asText();
+
+    if (keyFormat == KeyFormat.BINARY) return Base64.getUrlEncoder().withoutPadding().encodeToString(BinaryKeyCodec.encode(keyFields, key));
+
+    ObjectNode jsonKey = objectMapper.createObjectNode();
+    keyFields.forEach(field -> jsonKey.set(field.name(), key.get(field.name())));
+
+    try
+    {
+      return Base64.getEncoder().encodeToString(objectMapper.writeValueAsBytes(jsonKey));
+    }
+    catch (JsonProcessingException e)
+    {
+      throw new IllegalArgumentException("Failed to write key: " + key, e);
+    }
+  }
+
   private ObjectNode parseAsObject(String key)
   {
     try
     {
-      return checkFields(objectMapper.readValue(Base64.getDecoder().decode(key), ObjectNode.class));
+      byte[] bytes = decode(key);
+
+      // the marker can't start a JSON object, so both formats are accepted whichever is configured
+      if (bytes.length > 0 && bytes[0] == BinaryKeyCodec.MARKER) return BinaryKeyCodec.decode(keyFields, bytes);
+
+      return checkFields(objectMapper.readValue(bytes, ObjectNode.class));
     }
-    catch (IOException e)
+    catch (IOException | IllegalArgumentException e)
     {
       throw new IllegalParameterException("Invalid key: " + key, e);
     }
   }
 
+  private byte[] decode(String key)
+  {
+    // binary keys are URL safe, JSON keys have historically been standard
+    return key.indexOf('-') >= 0 || key.indexOf('_') >= 0 ? Base64.getUrlDecoder().decode(key) : Base64.getDecoder().decode(key);
+  }
+
   private ObjectNode parseAsValue(String key)
   {
     try
@@ -94,7 +134,14 @@ public class Base64IdentityParser implements IdentityParser<String, ObjectNode>
   private ObjectNode objectNode(Field field, String key)
   {
     ObjectNode objectNode = new ObjectNode(null);
-    objectNode.set(field.name(), field.parseAsJsonType(key));
+
+    // integral keys are the common case, so they skip the generic parse and type check
+    switch (field.type())
+    {
+      case INTEGER -> objectNode.set(field.name(), IntNode.valueOf(Integer.parseInt(key)));
+      case LONG -> objectNode.set(field.name(), LongNode.valueOf(Long.parseLong(key)));
+      default -> objectNode.set(field.name(), field.parseAsJsonType(key));
+    }
 
     return objectNode;
   }
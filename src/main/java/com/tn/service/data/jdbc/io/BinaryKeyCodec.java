@@ -0,0 +1,228 @@
+package com.tn.service.data.jdbc.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.domain.FieldType;
+
+// a key is a marker byte followed by each key field, in order, as a type byte, an unsigned varint length and the value: big-endian
+// for numbers, UTF-8 for text, the scale then unscaled two's complement for decimals, the epoch day for dates, the nanosecond of
+// the day for times and the epoch second then nanosecond (both UTC) for timestamps
+final class BinaryKeyCodec
+{
+  static final byte MARKER = 0x01;
+
+  private static final int INITIAL_CAPACITY = 32;
+
+  private BinaryKeyCodec() {}
+
+  static byte[] encode(Collection<Field> keyFields, ObjectNode key)
+  {
+    Writer writer = new Writer();
+    writer.writeByte(MARKER);
+
+    for (Field field : keyFields)
+    {
+      JsonNode jsonValue = key.get(field.name());
+      if (jsonValue == null || jsonValue.isNull()) throw new IllegalArgumentException("Missing key field: " + field.name());
+
+      Object value = field.type().asJavaType(jsonValue);
+
+      writer.writeByte((byte)tag(field.type()));
+      switch (field.type())
+      {
+        case BOOLEAN -> writer.withLength(1).writeByte((Boolean)value ? (byte)1 : (byte)0);
+        case INTEGER -> writer.withLength(Integer.BYTES).writeInt((Integer)value);
+        case LONG -> writer.withLength(Long.BYTES).writeLong((Long)value);
+        case FLOAT -> writer.withLength(Float.BYTES).writeInt(Float.floatToIntBits((Float)value));
+        case DOUBLE -> writer.withLength(Double.BYTES).writeLong(Double.doubleToLongBits((Double)value));
+        case DECIMAL ->
+        {
+          BigDecimal decimal = (BigDecimal)value;
+          byte[] unscaled = decimal.unscaledValue().toByteArray();
+          writer.withLength(Integer.BYTES + unscaled.length).writeInt(decimal.scale()).writeBytes(unscaled);
+        }
+        case TEXT ->
+        {
+          byte[] text = ((String)value).getBytes(UTF_8);
+          writer.withLength(text.length).writeBytes(text);
+        }
+        case DATE -> writer.withLength(Long.BYTES).writeLong(((Date)value).toLocalDate().toEpochDay());
+        case TIME -> writer.withLength(Long.BYTES).writeLong(FieldType.localTime((Time)value).toNanoOfDay());
+        case TIMESTAMP ->
+        {
+          LocalDateTime timestamp = ((Timestamp)value).toLocalDateTime();
+          writer.withLength(Long.BYTES + Integer.BYTES).writeLong(timestamp.toEpochSecond(ZoneOffset.UTC)).writeInt(timestamp.getNano());
+        }
+      }
+    }
+
+    return writer.toByteArray();
+  }
+
+  static ObjectNode decode(Collection<Field> keyFields, byte[] bytes)
+  {
+    try
+    {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      if (buffer.get() != MARKER) throw new IllegalArgumentException("Not a binary key");
+
+      ObjectNode key = new ObjectNode(null);
+      for (Field field : keyFields)
+      {
+        if (buffer.get() != tag(field.type())) throw new IllegalArgumentException("Unexpected type for field: " + field.name());
+
+        int length = readLength(buffer);
+        int end = buffer.position() + length;
+
+        Object value = switch (field.type())
+        {
+          case BOOLEAN -> buffer.get() != 0;
+          case INTEGER -> buffer.getInt();
+          case LONG -> buffer.getLong();
+          case FLOAT -> buffer.getFloat();
+          case DOUBLE -> buffer.getDouble();
+          case DECIMAL ->
+          {
+            // the scale and at least one byte of the unscaled value
+            if (length <= Integer.BYTES) throw new IllegalArgumentException("Invalid length for field: " + field.name());
+
+            int scale = buffer.getInt();
+            byte[] unscaled = new byte[end - buffer.position()];
+            buffer.get(unscaled);
+            yield new BigDecimal(new BigInteger(unscaled), scale);
+          }
+          case TEXT ->
+          {
+            String text = new String(bytes, buffer.position(), length, UTF_8);
+            buffer.position(end);
+            yield text;
+          }
+          case DATE -> Date.valueOf(LocalDate.ofEpochDay(buffer.getLong()));
+          case TIME -> FieldType.time(LocalTime.ofNanoOfDay(buffer.getLong()));
+          case TIMESTAMP -> Timestamp.valueOf(LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC));
+        };
+
+        if (buffer.position() != end) throw new IllegalArgumentException("Invalid length for field: " + field.name());
+        field.set(key, value);
+      }
+
+      if (buffer.hasRemaining()) throw new IllegalArgumentException("Unexpected trailing bytes");
+
+      return key;
+    }
+    catch (BufferUnderflowException | DateTimeException e)
+    {
+      throw new IllegalArgumentException("Truncated or invalid binary key", e);
+    }
+  }
+
+  private static char tag(FieldType fieldType)
+  {
+    // fixed, rather than the ordinal, so that keys survive changes to FieldType
+    return switch (fieldType)
+    {
+      case BOOLEAN -> 'Z';
+      case INTEGER -> 'I';
+      case LONG -> 'J';
+      case FLOAT -> 'F';
+      case DOUBLE -> 'D';
+      case DECIMAL -> 'N';
+      case TEXT -> 'S';
+      case DATE -> 'd';
+      case TIME -> 't';
+      case TIMESTAMP -> 'T';
+    };
+  }
+
+  private static int readLength(ByteBuffer buffer)
+  {
+    int length = 0;
+    for (int shift = 0; shift < Integer.SIZE; shift += 7)
+    {
+      byte b = buffer.get();
+      length |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+      {
+        if (length < 0 || length > buffer.remaining()) throw new IllegalArgumentException("Invalid length: " + length);
+        return length;
+      }
+    }
+
+    throw new IllegalArgumentException("Invalid length");
+  }
+
+  private static class Writer
+  {
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    Writer withLength(int length)
+    {
+      while ((length & ~0x7F) != 0)
+      {
+        writeByte((byte)(length & 0x7F | 0x80));
+        length >>>= 7;
+      }
+
+      return writeByte((byte)length);
+    }
+
+    Writer writeByte(byte b)
+    {
+      ensureCapacity(1);
+      bytes[size++] = b;
+      return this;
+    }
+
+    Writer writeInt(int value)
+    {
+      ensureCapacity(Integer.BYTES);
+      for (int shift = Integer.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) bytes[size++] = (byte)(value >>> shift);
+      return this;
+    }
+
+    Writer writeLong(long value)
+    {
+      ensureCapacity(Long.BYTES);
+      for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) bytes[size++] = (byte)(value >>> shift);
+      return this;
+    }
+
+    Writer writeBytes(byte[] value)
+    {
+      ensureCapacity(value.length);
+      System.arraycopy(value, 0, bytes, size, value.length);
+      size += value.length;
+      return this;
+    }
+
+    byte[] toByteArray()
+    {
+      return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(int length)
+    {
+      if (size + length > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.tn.service.data.jdbc.io;
+
+public enum KeyFormat
+{
+  JSON,
+  BINARY
+}
@@ -0,0 +1,86 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import com.tn.lang.util.Page;
+import com.tn.service.data.domain.Direction;
+import com.tn.service.data.repository.DataRepository;
+
+public class AsyncDataRepository
+{
+  private final DataRepository<ObjectNode, ObjectNode> dataRepository;
+  private final Executor executor;
+
+  public AsyncDataRepository(DataRepository<ObjectNode, ObjectNode> dataRepository, Executor executor)
+  {
+    this.dataRepository = dataRepository;
+    this.executor = executor;
+  }
+
+  public CompletableFuture<Optional<ObjectNode>> find(ObjectNode key)
+  {
+    return supplyAsync(() -> dataRepository.find(key), executor);
+  }
+
+  public CompletableFuture<Collection<ObjectNode>> findAll(Iterable<String> sort, Direction direction)
+  {
+    return supplyAsync(() -> dataRepository.findAll(sort, direction), executor);
+  }
+
+  public CompletableFuture<Collection<ObjectNode>> findAll(Iterable<ObjectNode> keys)
+  {
+    return supplyAsync(() -> dataRepository.findAll(keys), executor);
+  }
+
+  public CompletableFuture<Page<ObjectNode>> findAll(int pageNumber, int pageSize, Iterable<String> sort, Direction direction)
+  {
+    return supplyAsync(() -> dataRepository.findAll(pageNumber, pageSize, sort, direction), executor);
+  }
+
+  public CompletableFuture<Collection<ObjectNode>> findWhere(String query, Iterable<String> sort, Direction direction)
+  {
+    return supplyAsync(() -> dataRepository.findWhere(query, sort, direction), executor);
+  }
+
+  public CompletableFuture<Page<ObjectNode>> findWhere(String query, int pageNumber, int pageSize, Iterable<String> sort, Direction direction)
+  {
+    return supplyAsync(() -> dataRepository.findWhere(query, pageNumber, pageSize, sort, direction), executor);
+  }
+
+  public CompletableFuture<ObjectNode> insert(ObjectNode object)
+  {
+    return supplyAsync(() -> dataRepository.insert(object), executor);
+  }
+
+  public CompletableFuture<Collection<ObjectNode>> insertAll(Iterable<ObjectNode> objects)
+  {
+    return supplyAsync(() -> dataRepository.insertAll(objects), executor);
+  }
+
+  public CompletableFuture<ObjectNode> update(ObjectNode object)
+  {
+    return supplyAsync(() -> dataRepository.update(object), executor);
+  }
+
+  public CompletableFuture<Collection<ObjectNode>> updateAll(Iterable<ObjectNode> objects)
+  {
+    return supplyAsync(() -> dataRepository.updateAll(objects), executor);
+  }
+
+  public CompletableFuture<Optional<ObjectNode>> delete(ObjectNode key)
+  {
+    return supplyAsync(() -> dataRepository.delete(key), executor);
+  }
+
+  public CompletableFuture<Collection<ObjectNode>> deleteAll(Iterable<ObjectNode> keys)
+  {
+    return supplyAsync(() -> dataRepository.deleteAll(keys), executor);
+  }
+}
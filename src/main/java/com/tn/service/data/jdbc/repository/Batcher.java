@@ -0,0 +1,191 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+class Batcher<T, R> implements Runnable, AutoCloseable
+{
+  private final String name;
+  private final BlockingQueue<Pending<T, R>> queue;
+  private final long windowNanos;
+  private final int maxSize;
+  private final Duration timeout;
+  private final Function<List<T>, List<R>> batch;
+  private final Function<T, R> single;
+  private final ThreadPoolExecutor flushExecutor;
+  private final Thread thread;
+
+  private volatile boolean closed;
+
+  // batch returns one result per item, in order; if it fails each item is retried with single, when given, or fails
+  Batcher(
+    String name,
+    Duration window,
+    int maxSize,
+    int queueSize,
+    int flushThreads,
+    Duration timeout,
+    Function<List<T>, List<R>> batch,
+    Function<T, R> single
+  )
+  {
+    this.name = name;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.windowNanos = window.toNanos();
+    this.maxSize = maxSize;
+    this.timeout = timeout;
+    this.batch = batch;
+    this.single = single;
+
+    // with every flush thread busy the gathering thread flushes itself, so that a backlog backs up into the queue
+    this.flushExecutor = new ThreadPoolExecutor(
+      flushThreads,
+      flushThreads,
+      0,
+      NANOSECONDS,
+      new SynchronousQueue<>(),
+      Thread.ofPlatform().daemon().name(name + "-flush-", 0).factory(),
+      new ThreadPoolExecutor.CallerRunsPolicy()
+    );
+    this.thread = Thread.ofPlatform().daemon().name(name).start(this);
+  }
+
+  R submit(T item)
+  {
+    // bounded, so that a backlog is rejected rather than accumulating behind the flushes
+    Pending<T, R> pending = new Pending<>(item, new CompletableFuture<>());
+    if (closed) throw new RejectedExecutionException(name + " is closed");
+    if (!queue.offer(pending)) throw new RejectedExecutionException(name + " is full");
+
+    try
+    {
+      return pending.result().get(timeout.toNanos(), NANOSECONDS);
+    }
+    catch (ExecutionException e)
+    {
+      if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+      if (e.getCause() instanceof Error error) throw error;
+      throw new IllegalStateException(e.getCause());
+    }
+    catch (TimeoutException e)
+    {
+      // an item still queued is then skipped, but one already being flushed may still be written
+      pending.result().completeExceptionally(e);
+      throw new IllegalStateException(name + " timed out after " + timeout, e);
+    }
+    catch (InterruptedException e)
+    {
+      pending.result().cancel(false);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(name + " interrupted", e);
+    }
+  }
+
+  @Override
+  public void close()
+  {
+    closed = true;
+    thread.interrupt();
+    flushExecutor.shutdown();
+
+    try
+    {
+      if (!flushExecutor.awaitTermination(timeout.toNanos(), NANOSECONDS)) flushExecutor.shutdownNow();
+    }
+    catch (InterruptedException e)
+    {
+      flushExecutor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void run()
+  {
+    try
+    {
+      while (!Thread.currentThread().isInterrupted())
+      {
+        List<Pending<T, R>> group = new ArrayList<>(maxSize);
+        group.add(queue.take());
+
+        // the window opens with the first item, and items arriving during a flush form the next group
+        long deadline = System.nanoTime() + windowNanos;
+        while (group.size() < maxSize)
+        {
+          Pending<T, R> pending = queue.poll(deadline - System.nanoTime(), NANOSECONDS);
+          if (pending == null) break;
+
+          group.add(pending);
+        }
+
+        // flushed on the pool, so that the next group gathers while this one is written
+        flushExecutor.execute(() -> flush(group));
+      }
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+    finally
+    {
+      List<Pending<T, R>> abandoned = new ArrayList<>();
+      queue.drainTo(abandoned);
+      abandoned.forEach(pending -> pending.result().completeExceptionally(new RejectedExecutionException(name + " is closed")));
+    }
+  }
+
+  private void flush(List<Pending<T, R>> group)
+  {
+    // items whose callers have given up are not written
+    group.removeIf(pending -> pending.result().isDone());
+    if (group.isEmpty()) return;
+
+    if (group.size() > 1 || single == null)
+    {
+      try
+      {
+        List<R> results = batch.apply(group.stream().map(Pending::item).toList());
+
+        Iterator<R> resultIterator = results.iterator();
+        group.forEach(pending -> pending.result().complete(resultIterator.next()));
+        return;
+      }
+      catch (RuntimeException e)
+      {
+        if (single == null)
+        {
+          group.forEach(pending -> pending.result().completeExceptionally(e));
+          return;
+        }
+      }
+    }
+
+    for (Pending<T, R> pending : group)
+    {
+      try
+      {
+        pending.result().complete(single.apply(pending.item()));
+      }
+      catch (RuntimeException e)
+      {
+        pending.result().completeExceptionally(e);
+      }
+    }
+  }
+
+  private record Pending<T, R>(T item, CompletableFuture<R> result) {}
+}
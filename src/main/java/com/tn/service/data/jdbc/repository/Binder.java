@@ -0,0 +1,172 @@
+package com.tn.service.data.jdbc.repository;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import com.tn.query.jdbc.JdbcPredicate;
+import com.tn.service.data.jdbc.domain.Field;
+
+// the parameters of a statement shape, bound by position through each field's type, or as a null of its column's SQL type
+final class Binder
+{
+  private static final String METHOD_SET_NULL = "setNull";
+  private static final String METHOD_SET_PREFIX = "set";
+
+  private final Field[] fields;
+  private final int flagged;
+
+  private Binder(Field[] fields)
+  {
+    this(fields, 0);
+  }
+
+  private Binder(Field[] fields, int flagged)
+  {
+    this.fields = fields;
+    this.flagged = flagged;
+  }
+
+  @SafeVarargs
+  static Binder of(Collection<Field>... fieldGroups)
+  {
+    List<Field> fields = new ArrayList<>();
+    for (Collection<Field> fieldGroup : fieldGroups) fields.addAll(fieldGroup);
+
+    return new Binder(fields.toArray(Field[]::new));
+  }
+
+  static Binder keyset(List<Field> keysetFields)
+  {
+    // each disjunct of the keyset predicate repeats a longer prefix of the keyset fields
+    List<Field> fields = new ArrayList<>();
+    for (int i = 1; i <= keysetFields.size(); i++) fields.addAll(keysetFields.subList(0, i));
+
+    return new Binder(fields.toArray(Field[]::new));
+  }
+
+  static Binder flagged(List<Field> flaggedFields, List<Field> fields)
+  {
+    // the flagged fields each bind a presence flag then the value, or a null when absent, and the rest bind as usual
+    List<Field> allFields = new ArrayList<>(flaggedFields);
+    allFields.addAll(fields);
+
+    return new Binder(allFields.toArray(Field[]::new), flaggedFields.size());
+  }
+
+  static List<PredicateValue> values(JdbcPredicate predicate) throws SQLException
+  {
+    // the predicate binds its values to a PreparedStatement, so they are captured from one
+    Map<Integer, PredicateValue> values = new TreeMap<>();
+
+    PreparedStatement preparedStatement = (PreparedStatement)Proxy.newProxyInstance(
+      Binder.class.getClassLoader(),
+      new Class<?>[] {PreparedStatement.class},
+      (proxy, method, args) ->
+      {
+        if (!method.getName().startsWith(METHOD_SET_PREFIX) || args == null || args.length < 2 || !(args[0] instanceof Integer index))
+        {
+          throw new UnsupportedOperationException(method.getName());
+        }
+
+        values.put(index, new PredicateValue(index, method, args));
+        return null;
+      }
+    );
+
+    predicate.setValues(preparedStatement);
+
+    return new ArrayList<>(values.values());
+  }
+
+  int size()
+  {
+    return fields.length + flagged;
+  }
+
+  void bind(PreparedStatement preparedStatement, ObjectNode object) throws SQLException
+  {
+    bind(preparedStatement, 0, object);
+  }
+
+  void bind(PreparedStatement preparedStatement, int offset, ObjectNode object) throws SQLException
+  {
+    int position = offset + 1;
+
+    for (int i = 0; i < flagged; i++)
+    {
+      Field field = fields[i];
+      if (object.has(field.name()))
+      {
+        preparedStatement.setInt(position++, 1);
+        field.setValue(preparedStatement, position++, object);
+      }
+      else
+      {
+        preparedStatement.setInt(position++, 0);
+        preparedStatement.setNull(position++, field.column().type());
+      }
+    }
+
+    for (int i = flagged; i < fields.length; i++) fields[i].setValue(preparedStatement, position++, object);
+  }
+
+  void bind(PreparedStatement preparedStatement, ObjectNode object, List<PredicateValue> predicateValues) throws SQLException
+  {
+    // the object's fields, then the predicate's values after them
+    bind(preparedStatement, object);
+    for (PredicateValue predicateValue : predicateValues) predicateValue.bind(preparedStatement, size());
+  }
+
+  void bindAll(PreparedStatement preparedStatement, Iterable<ObjectNode> objects) throws SQLException
+  {
+    int offset = 0;
+    for (ObjectNode object : objects)
+    {
+      bind(preparedStatement, offset, object);
+      offset += size();
+    }
+  }
+
+  record PredicateValue(int index, Method setter, Object[] arguments)
+  {
+    boolean isNull()
+    {
+      return METHOD_SET_NULL.equals(setter.getName());
+    }
+
+    Object value()
+    {
+      return arguments[1];
+    }
+
+    void bind(PreparedStatement preparedStatement, int offset) throws SQLException
+    {
+      Object[] arguments = this.arguments.clone();
+      arguments[0] = offset + index;
+
+      try
+      {
+        setter.invoke(preparedStatement, arguments);
+      }
+      catch (InvocationTargetException e)
+      {
+        if (e.getCause() instanceof SQLException sqlException) throw sqlException;
+        throw new IllegalStateException(e.getCause());
+      }
+      catch (IllegalAccessException e)
+      {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
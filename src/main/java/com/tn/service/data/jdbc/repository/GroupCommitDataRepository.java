@@ -0,0 +1,142 @@
+package com.tn.service.data.jdbc.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tn.lang.util.Page;
+import com.tn.service.data.domain.Direction;
+import com.tn.service.data.repository.DataRepository;
+import com.tn.service.data.repository.DeleteException;
+import com.tn.service.data.repository.FindException;
+import com.tn.service.data.repository.InsertException;
+import com.tn.service.data.repository.UpdateException;
+
+public class GroupCommitDataRepository implements DataRepository<ObjectNode, ObjectNode>, AutoCloseable
+{
+  private final JdbcDataRepository dataRepository;
+  private final Batcher<ObjectNode, ObjectNode> inserts;
+  private final Batcher<ObjectNode, ObjectNode> updates;
+
+  public GroupCommitDataRepository(JdbcDataRepository dataRepository, Duration window, int maxRows, int queueSize, int flushThreads, Duration timeout)
+  {
+    this.dataRepository = dataRepository;
+    this.inserts = new Batcher<>("group-commit-insert", window, maxRows, queueSize, flushThreads, timeout, this::insertGroup, dataRepository::insert);
+    this.updates = new Batcher<>("group-commit-update", window, maxRows, queueSize, flushThreads, timeout, this::updateGroup, dataRepository::update);
+  }
+
+  @Override
+  public Optional<ObjectNode> find(ObjectNode key) throws FindException
+  {
+    return dataRepository.find(key);
+  }
+
+  @Override
+  public Collection<ObjectNode> findAll(Iterable<String> sort, Direction direction) throws FindException
+  {
+    return dataRepository.findAll(sort, direction);
+  }
+
+  @Override
+  public Collection<ObjectNode> findAll(Iterable<ObjectNode> keys) throws FindException
+  {
+    return dataRepository.findAll(keys);
+  }
+
+  @Override
+  public Page<ObjectNode> findAll(int pageNumber, int pageSize, Iterable<String> sort, Direction direction) throws FindException
+  {
+    return dataRepository.findAll(pageNumber, pageSize, sort, direction);
+  }
+
+  @Override
+  public Collection<ObjectNode> findWhere(String query, Iterable<String> sort, Direction direction) throws FindException
+  {
+    return dataRepository.findWhere(query, sort, direction);
+  }
+
+  @Override
+  public Page<ObjectNode> findWhere(String query, int pageNumber, int pageSize, Iterable<String> sort, Direction direction) throws FindException
+  {
+    return dataRepository.findWhere(query, pageNumber, pageSize, sort, direction);
+  }
+
+  @Override
+  public ObjectNode insert(ObjectNode object) throws InsertException
+  {
+    // a caller's own transaction must see its write, so it can't be committed with others
+    if (TransactionSynchronizationManager.isActualTransactionActive()) return dataRepository.insert(object);
+
+    return inserts.submit(object);
+  }
+
+  @Override
+  public Collection<ObjectNode> insertAll(Iterable<ObjectNode> objects) throws InsertException
+  {
+    return dataRepository.insertAll(objects);
+  }
+
+  @Override
+  public ObjectNode update(ObjectNode object) throws UpdateException
+  {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) return dataRepository.update(object);
+
+    return updates.submit(object);
+  }
+
+  @Override
+  public Collection<ObjectNode> updateAll(Iterable<ObjectNode> objects) throws UpdateException
+  {
+    return dataRepository.updateAll(objects);
+  }
+
+  @Override
+  public Optional<ObjectNode> delete(ObjectNode key) throws DeleteException
+  {
+    return dataRepository.delete(key);
+  }
+
+  @Override
+  public Collection<ObjectNode> deleteAll(Iterable<ObjectNode> keys) throws DeleteException
+  {
+    return dataRepository.deleteAll(keys);
+  }
+
+  @Override
+  public void close()
+  {
+    inserts.close();
+    updates.close();
+  }
+
+  private List<ObjectNode> insertGroup(List<ObjectNode> objects)
+  {
+    // inserted objects are returned in the order they were given
+    return List.copyOf(dataRepository.insertAll(objects));
+  }
+
+  private List<ObjectNode> updateGroup(List<ObjectNode> objects)
+  {
+    // updated objects are re-read, so are matched back to each caller by key
+    Map<ObjectNode, ObjectNode> updated = new HashMap<>();
+    for (ObjectNode object : dataRepository.updateAll(objects)) updated.put(dataRepository.key(object), object);
+
+    List<ObjectNode> results = new ArrayList<>(objects.size());
+    for (ObjectNode object : objects)
+    {
+      ObjectNode result = updated.get(dataRepository.key(object));
+      if (result == null) throw new UpdateException("Failed to find object after update: " + object);
+
+      results.add(result);
+    }
+
+    return results;
+  }
+}
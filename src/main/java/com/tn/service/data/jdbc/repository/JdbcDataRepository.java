@@ -3,10 +3,10 @@ package com.tn.service.data.jdbc.repository;
 import static java.lang.Math.ceilDiv;
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.groupingBy;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.nCopies;
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toSet;
-import static java.util.stream.StreamSupport.stream;
+import static java.util.stream.Collectors.toCollection;
 
 import static com.google.common.collect.Lists.partition;
 
@@ -14,84 +14,109 @@ import static com.tn.lang.Iterables.asList;
 import static com.tn.lang.Iterables.isEmpty;
 import static com.tn.lang.Iterables.size;
 import static com.tn.lang.Strings.repeat;
-import static com.tn.lang.util.function.Lambdas.unwrapException;
-import static com.tn.lang.util.function.Lambdas.wrapConsumer;
-
+import static com.tn.service.data.jdbc.domain.FieldType.INTEGER;
+import static com.tn.service.data.jdbc.repository.TablePlan.COLUMN_SEPARATOR;
+import static com.tn.service.data.jdbc.repository.TablePlan.LOGICAL_OR;
+import static com.tn.service.data.jdbc.repository.TablePlan.LOOKUP_INDEX;
+import static com.tn.service.data.jdbc.repository.TablePlan.ORDER_BY;
+import static com.tn.service.data.jdbc.repository.TablePlan.PARENTHESIS;
+import static com.tn.service.data.jdbc.repository.TablePlan.paginated;
+import static com.tn.service.data.jdbc.repository.TablePlan.where;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.IntStream;
 
 import jakarta.annotation.Nonnull;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.tn.lang.Iterables;
-import com.tn.lang.sql.PreparedStatements;
 import com.tn.lang.util.Page;
-import com.tn.lang.util.function.ConsumerWithThrows;
-import com.tn.lang.util.function.WrappedException;
 import com.tn.query.QueryParser;
 import com.tn.query.jdbc.JdbcPredicate;
 import com.tn.service.data.domain.Direction;
+import com.tn.service.data.jdbc.domain.Aggregate;
 import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.repository.Binder.PredicateValue;
+import com.tn.service.data.jdbc.repository.TablePlan.UpdatePlan;
 import com.tn.service.data.repository.DataRepository;
 import com.tn.service.data.repository.DeleteException;
 import com.tn.service.data.repository.FindException;
 import com.tn.service.data.repository.InsertException;
 import com.tn.service.data.repository.UpdateException;
 
-public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode>
+public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode>, AutoCloseable
 {
-  private static final String COLUMN_PLACEHOLDER = "?";
-  private static final String COLUMN_SEPARATOR = ", ";
   private static final int DEFAULT_BATCH_SIZE = 50;
-  private static final String FIELD_PLACEHOLDER = "%s = ?";
-  private static final String LOGICAL_AND = " AND ";
-  private static final String LOGICAL_OR = " OR ";
-  private static final String PARENTHESIS = "(%s)";
+  private static final String AGGREGATE = "%s(%s) AS %s";
+  private static final String AGGREGATE_ALIAS = "AGGREGATE_%d";
+  private static final String AGGREGATE_ALL = "*";
+  private static final String DELTA_TABLE = "SELECT %s FROM %s TABLE (%s)";
+  private static final String DELTA_TABLE_FINAL = "FINAL";
+  private static final String DELTA_TABLE_OLD = "OLD";
+  private static final int DEFAULT_FACET_CACHE_SIZE = 1000;
+  private static final String FACET = "SELECT %s, COUNT(*) AS FACET_COUNT FROM %s.%s";
+  private static final String FACET_COUNT = "FACET_COUNT";
+  private static final String FACET_ORDER_BY = "%s ORDER BY FACET_COUNT DESC, %s ASC";
+  private static final String FIELD_COUNT = "count";
+  private static final String FIELD_VALUE = "value";
+  private static final String GROUP_BY = "%s GROUP BY %s";
+  private static final String KEY_BETWEEN = "%s BETWEEN ? AND ?";
+  private static final String KEY_RANGE = "SELECT MIN(%1$s), MAX(%1$s), COUNT(*) FROM %2$s.%3$s";
   private static final String SELECT = "SELECT %s FROM %s.%s";
-  private static final String COUNT = "SELECT COUNT(*) FROM %s.%s";
-  private static final String INSERT = "INSERT INTO %s.%s(%s) VALUES (%s)";
-  private static final String UPDATE = "UPDATE %s.%s SET %s WHERE %s";
-  private static final String DELETE = "DELETE FROM %s.%s";
-  private static final String WHERE = "%s WHERE %s";
-  private static final String ORDER_BY = "%s ORDER BY %s ASC";
-  private static final String ORDER_BY_DESCENDING = "%s ORDER BY %s DESC";
-  private static final String OFFSET = "%s OFFSET %d ROWS FETCH NEXT %d ROWS ONLY";
 
   private final ExecutorService queryExecutor;
   private final JdbcTemplate jdbcTemplate;
-  private final Collection<Field> fields;
-  private final Collection<Field> autoIncrementFields;
-  private final Collection<Field> keyFields;
-  private final Collection<Field> mutableFields;
-  private final QueryParser<JdbcPredicate> queryParser;
-  private final String selectSql;
-  private final String countSql;
-  private final String insertSql;
-  private final String deleteSql;
   private final String schema;
   private final String table;
-  private final String keyPredicate;
 
+  private volatile TablePlan plan;
   private int batchSize = DEFAULT_BATCH_SIZE;
+  private TableVersion version = new TableVersion();
+  private Cache<FacetKey, ObjectNode> facetCache = facetCache(DEFAULT_FACET_CACHE_SIZE);
+  private SingleFlight singleFlight;
+  private Batcher<ObjectNode, Optional<ObjectNode>> pointLookups;
+  private boolean singleShapeUpdates;
+  private String versionField;
+  private boolean deltaTables;
 
   public JdbcDataRepository(
     ExecutorService queryExecutor,
@@ -106,36 +131,319 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
     this.jdbcTemplate = jdbcTemplate;
     this.schema = schema;
     this.table = table;
-    this.fields = fields;
-    this.queryParser = queryParser;
+    this.plan = TablePlan.of(schema, table, fields, queryParser);
+  }
 
-    this.autoIncrementFields = fields.stream().filter(field -> field.column().autoIncrement()).toList();
-    this.keyFields = fields.stream().filter(field -> field.column().key()).toList();
-    this.mutableFields = fields.stream().filter(field -> !field.column().key()).toList();
+  public JdbcDataRepository withBatchSize(int batchSize)
+  {
+    this.batchSize = batchSize;
+    return this;
+  }
 
-    this.keyPredicate = keyFields.stream().map(field -> format(FIELD_PLACEHOLDER, field.column().name())).collect(joining(LOGICAL_AND));
+  public JdbcDataRepository withVersion(TableVersion version)
+  {
+    this.version = version;
+    return this;
+  }
 
-    this.selectSql = selectSql(schema, table, fields);
-    this.countSql = countSql(schema, table);
-    this.insertSql = insertSql(schema, table, fields);
-    this.deleteSql = deleteSql(schema, table);
+  public JdbcDataRepository withFacetCacheSize(long facetCacheSize)
+  {
+    this.facetCache = facetCache(facetCacheSize);
+    return this;
   }
 
-  public JdbcDataRepository withBatchSize(int batchSize)
+  public JdbcDataRepository withSingleFlight(SingleFlight singleFlight)
   {
-    this.batchSize = batchSize;
+    this.singleFlight = singleFlight;
+    return this;
+  }
+
+  public JdbcDataRepository withSingleShapeUpdates(boolean singleShapeUpdates)
+  {
+    this.singleShapeUpdates = singleShapeUpdates;
+    return this;
+  }
+
+  public JdbcDataRepository withVersionField(String versionField)
+  {
+    this.versionField = versionField;
+    this.plan = TablePlan.of(schema, table, plan.fields(), plan.queryParser(), versionField);
+    return this;
+  }
+
+  public JdbcDataRepository withDeltaTables(boolean deltaTables)
+  {
+    this.deltaTables = deltaTables;
+    return this;
+  }
+
+  public JdbcDataRepository withPointLookupBatching(Duration window, int maxKeys, int queueSize, int flushThreads, Duration timeout)
+  {
+    this.pointLookups = new Batcher<>("point-lookup-" + schema + "." + table, window, maxKeys, queueSize, flushThreads, timeout, this::lookup, null);
     return this;
   }
 
+  @Override
+  public void close()
+  {
+    if (pointLookups != null) pointLookups.close();
+  }
+
+  public TableVersion version()
+  {
+    return version;
+  }
+
+  public Collection<Field> fields()
+  {
+    return plan.fields();
+  }
+
+  public void refresh(Collection<Field> fields)
+  {
+    this.plan = TablePlan.of(schema, table, fields, QueryParsers.forFields(fields), versionField);
+    this.version.increment();
+  }
+
+  public void prepare(Connection connection) throws SQLException
+  {
+    TablePlan plan = this.plan;
+
+    for (String sql : List.of(plan.findSql(), plan.selectSql(), plan.countSql(), plan.insertSql()))
+    {
+      connection.prepareStatement(sql).close();
+    }
+  }
+
+  public Collection<ObjectNode> findFirst(int count) throws FindException
+  {
+    TablePlan plan = this.plan;
+
+    try
+    {
+      return jdbcTemplate.query(paginated(plan.orderBy(plan.selectSql(), emptySet(), Direction.ASCENDING), 0, count), plan::object);
+    }
+    catch (DataAccessException e)
+    {
+      throw new FindException(e.getCause());
+    }
+  }
+
+  public ObjectNode key(ObjectNode object)
+  {
+    return plan.key(object);
+  }
+
+  public List<Field> keysetFields(String fieldName)
+  {
+    return plan.keysetFields(fieldName);
+  }
+
+  public List<ObjectNode> findAfter(String fieldName, ObjectNode after, int count) throws FindException
+  {
+    TablePlan plan = this.plan;
+    List<Field> keysetFields = plan.keysetFields(fieldName);
+    String predicate = plan.keysetPredicate(keysetFields, after != null);
+
+    try
+    {
+      return jdbcTemplate.query(
+        paginated(
+          format(
+            ORDER_BY,
+            predicate != null ? where(plan.selectSql(), predicate) : plan.selectSql(),
+            keysetFields.stream().map(field -> field.column().name()).collect(joining(COLUMN_SEPARATOR))
+          ),
+          0,
+          count
+        ),
+        preparedStatement ->
+        {
+          if (after != null) Binder.keyset(keysetFields).bind(preparedStatement, after);
+        },
+        plan::object
+      );
+    }
+    catch (DataAccessException e)
+    {
+      throw new FindException(e.getCause());
+    }
+  }
+
+  public Optional<KeyRange> numericKeyRange() throws FindException
+  {
+    TablePlan plan = this.plan;
+    if (plan.numericKeyField() == null) throw new IllegalStateException("Not a single numeric key: " + plan.keyFields());
+
+    try
+    {
+      KeyRange keyRange = jdbcTemplate.queryForObject(
+        format(KEY_RANGE, plan.numericKeyField().column().name(), schema, table),
+        (resultSet, i) -> new KeyRange(resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3))
+      );
+
+      return keyRange == null || keyRange.count() == 0 ? Optional.empty() : Optional.of(keyRange);
+    }
+    catch (DataAccessException e)
+    {
+      throw new FindException(e.getCause());
+    }
+  }
+
+  public void scan(long from, long to, Consumer<ObjectNode> consumer) throws FindException
+  {
+    TablePlan plan = this.plan;
+    if (plan.numericKeyField() == null) throw new IllegalStateException("Not a single numeric key: " + plan.keyFields());
+
+    String keyColumn = plan.numericKeyField().column().name();
+
+    try
+    {
+      // rows are handed over as they are read, so a range is never held in memory
+      jdbcTemplate.query(
+        format(ORDER_BY, where(plan.selectSql(), format(KEY_BETWEEN, keyColumn)), keyColumn),
+        preparedStatement ->
+        {
+          preparedStatement.setLong(1, from);
+          preparedStatement.setLong(2, to);
+        },
+        (RowCallbackHandler)resultSet -> consumer.accept(plan.object(resultSet, resultSet.getRow()))
+      );
+    }
+    catch (DataAccessException e)
+    {
+      throw new FindException(e.getCause());
+    }
+  }
+
+  public List<ObjectNode> aggregate(String query, List<String> groupBy, List<Aggregate> aggregates) throws FindException
+  {
+    if (aggregates.isEmpty()) throw new IllegalArgumentException("No aggregates");
+
+    TablePlan plan = this.plan;
+    List<Field> groupByFields = groupBy.stream().map(plan::field).toList();
+    List<Field> aggregateFields = aggregates.stream().map(aggregate -> aggregateField(plan, aggregate)).toList();
+
+    String columns = groupByFields.stream().map(field -> field.column().name()).collect(joining(COLUMN_SEPARATOR));
+    String aggregateColumns = IntStream.range(0, aggregates.size())
+      .mapToObj(
+        i -> format(
+          AGGREGATE,
+          aggregates.get(i).function(),
+          aggregateFields.get(i) != null ? aggregateFields.get(i).column().name() : AGGREGATE_ALL,
+          format(AGGREGATE_ALIAS, i)
+        )
+      )
+      .collect(joining(COLUMN_SEPARATOR));
+
+    String sql = format(SELECT, columns.isEmpty() ? aggregateColumns : columns + COLUMN_SEPARATOR + aggregateColumns, schema, table);
+
+    try
+    {
+      JdbcPredicate predicate = query != null ? plan.queryParser().parse(query) : null;
+      if (predicate != null) sql = where(sql, predicate.toSql());
+      if (!columns.isEmpty()) sql = format(ORDER_BY, format(GROUP_BY, sql, columns), columns);
+
+      //noinspection SqlSourceToSinkFlow
+      return jdbcTemplate.query(
+        sql,
+        preparedStatement ->
+        {
+          if (predicate != null) predicate.setValues(preparedStatement);
+        },
+        (resultSet, i) -> aggregate(resultSet, groupByFields, aggregates, aggregateFields)
+      );
+    }
+    catch (DataAccessException e)
+    {
+      throw new FindException(e.getCause());
+    }
+  }
+
+  public ObjectNode facets(String query, List<String> fieldNames, int limit) throws FindException
+  {
+    // the version is read first and is part of the key, so writes retire cached facets
+    FacetKey facetKey = new FacetKey(version.get(), query, List.copyOf(fieldNames), limit);
+
+    ObjectNode facets = facetCache.getIfPresent(facetKey);
+    if (facets == null)
+    {
+      facets = findFacets(query, fieldNames, limit);
+      facetCache.put(facetKey, facets);
+    }
+
+    return facets.deepCopy();
+  }
+
+  public <T> T extract(
+    String query,
+    Iterable<String> sort,
+    Direction direction,
+    int fetchSize,
+    Function<List<Field>, ResultSetExtractor<T>> resultSetExtractor
+  ) throws FindException
+  {
+    TablePlan plan = this.plan;
+
+    try
+    {
+      // a fetch size lets drivers that would otherwise buffer the whole result stream it in pages
+      if (query == null)
+      {
+        return jdbcTemplate.query(
+          plan.orderBy(plan.selectSql(), sort, direction),
+          preparedStatement -> preparedStatement.setFetchSize(fetchSize),
+          resultSetExtractor.apply(plan.fields())
+        );
+      }
+
+      JdbcPredicate predicate = plan.queryParser().parse(query);
+
+      //noinspection SqlSourceToSinkFlow
+      return jdbcTemplate.query(
+        plan.orderBy(where(plan.selectSql(), predicate.toSql()), sort, direction),
+        preparedStatement ->
+        {
+          preparedStatement.setFetchSize(fetchSize);
+          predicate.setValues(preparedStatement);
+        },
+        resultSetExtractor.apply(plan.fields())
+      );
+    }
+    catch (DataAccessException e)
+    {
+      throw new FindException(e.getCause());
+    }
+  }
+
   @Override
   public Optional<ObjectNode> find(ObjectNode key) throws FindException
   {
+    return coalesce(() -> load(key), object -> object.map(ObjectNode::deepCopy), "find", key);
+  }
+
+  private Optional<ObjectNode> load(ObjectNode key) throws FindException
+  {
+    // a transaction must read through its own connection, so only lookups outside one are batched
+    Batcher<ObjectNode, Optional<ObjectNode>> pointLookups = this.pointLookups;
+    if (pointLookups == null || TransactionSynchronizationManager.isActualTransactionActive()) return selectOne(key);
+
+    return pointLookups.submit(key);
+  }
+
+  private Optional<ObjectNode> selectOne(ObjectNode key) throws FindException
+  {
+    TablePlan plan = this.plan;
+
     try
     {
+      JsonNode numericKey = plan.numericKeyField() != null ? key.get(plan.numericKeyField().name()) : null;
+      if (numericKey != null && numericKey.isIntegralNumber() && numericKey.canConvertToLong()) return selectOne(plan, numericKey.longValue());
+
       return jdbcTemplate.query(
-        where(selectSql, keyPredicate),
-        preparedStatement -> setValues(preparedStatement, parameterIndex(), key, keyFields),
-        this::object
+        plan.findSql(),
+        preparedStatement -> plan.keyBinder().bind(preparedStatement, key),
+        plan::object
       ).stream().findFirst();
     }
     catch (DataAccessException e)
@@ -144,12 +452,75 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
     }
   }
 
+  public boolean hasNumericKey()
+  {
+    return plan.numericKeyField() != null;
+  }
+
+  public boolean hasDeltaTables()
+  {
+    return deltaTables;
+  }
+
+  public Optional<ObjectNode> find(long key) throws FindException
+  {
+    TablePlan plan = this.plan;
+    Field keyField = plan.numericKeyField();
+    if (keyField == null) throw new IllegalStateException("Not a single numeric key: " + plan.keyFields());
+    if (outOfRange(keyField, key)) return Optional.empty();
+
+    // coalescing and batching key on the object form, so only bypass them when neither is in use
+    if (singleFlight != null || pointLookups != null)
+    {
+      ObjectNode keyObject = new ObjectNode(null);
+      keyObject.set(keyField.name(), keyField.type() == INTEGER ? IntNode.valueOf((int)key) : LongNode.valueOf(key));
+      return find(keyObject);
+    }
+
+    try
+    {
+      return selectOne(plan, key);
+    }
+    catch (DataAccessException e)
+    {
+      throw new FindException(e.getCause());
+    }
+  }
+
+  private Optional<ObjectNode> selectOne(TablePlan plan, long key)
+  {
+    if (outOfRange(plan.numericKeyField(), key)) return Optional.empty();
+
+    return jdbcTemplate.query(
+      plan.findSql(),
+      preparedStatement ->
+      {
+        if (plan.numericKeyField().type() == INTEGER) preparedStatement.setInt(1, (int)key);
+        else preparedStatement.setLong(1, key);
+      },
+      plan::object
+    ).stream().findFirst();
+  }
+
+  private static boolean outOfRange(Field keyField, long key)
+  {
+    // no INTEGER row can have the key, and it can't be bound
+    return keyField.type() == INTEGER && (key < Integer.MIN_VALUE || key > Integer.MAX_VALUE);
+  }
+
   @Override
   public Collection<ObjectNode> findAll(Iterable<String> sort, Direction direction) throws FindException
   {
+    return coalesce(() -> selectAll(sort, direction), JdbcDataRepository::copy, "findAll", asList(sort), direction);
+  }
+
+  private Collection<ObjectNode> selectAll(Iterable<String> sort, Direction direction) throws FindException
+  {
+    TablePlan plan = this.plan;
+
     try
     {
-      return jdbcTemplate.query(orderBy(selectSql, sort, direction), this::object);
+      return jdbcTemplate.query(plan.orderBy(plan.selectSql(), sort, direction), plan::object);
     }
     catch (DataAccessException e)
     {
@@ -160,48 +531,45 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
   @Override
   public Collection<ObjectNode> findAll(Iterable<ObjectNode> keys) throws FindException
   {
+    TablePlan plan = this.plan;
+
     try
     {
-      AtomicInteger parameterIndex = parameterIndex();
       return jdbcTemplate.query(
-        where(selectSql, repeat(format(PARENTHESIS, keyPredicate), LOGICAL_OR, size(keys))),
-        preparedStatement -> keys.forEach(wrapConsumer(key -> setValues(preparedStatement, parameterIndex, key, keyFields))),
-        this::object
+        where(plan.selectSql(), repeat(format(PARENTHESIS, plan.keyPredicate()), LOGICAL_OR, size(keys))),
+        preparedStatement -> plan.keyBinder().bindAll(preparedStatement, keys),
+        plan::object
       );
     }
     catch (DataAccessException e)
     {
-      throw new DeleteException(e.getCause());
-    }
-    catch (WrappedException e)
-    {
-      Throwable unwrapped = unwrapException(e);
-      if (unwrapped instanceof RuntimeException) throw (RuntimeException)unwrapped;
-      else throw new FindException(unwrapped);
+      throw new FindException(e.getCause());
     }
   }
 
   @Override
   public Page<ObjectNode> findAll(int pageNumber, int pageSize, Iterable<String> sort, Direction direction) throws FindException
   {
+    return coalesce(() -> selectPage(pageNumber, pageSize, sort, direction), Rows::copy, "findAll", pageNumber, pageSize, asList(sort), direction)
+      .page(pageNumber, pageSize);
+  }
+
+  private Rows selectPage(int pageNumber, int pageSize, Iterable<String> sort, Direction direction) throws FindException
+  {
+    TablePlan plan = this.plan;
+
     try
     {
       Future<Collection<ObjectNode>> objectsFuture = queryExecutor.submit(
         () -> jdbcTemplate.query(
-          paginated(orderBy(selectSql, sort, direction), pageNumber, pageSize),
-          this::object
+          paginated(plan.orderBy(plan.selectSql(), sort, direction), pageNumber, pageSize),
+          plan::object
         )
       );
       @SuppressWarnings("DataFlowIssue")
-      int count = jdbcTemplate.query(countSql, this::count);
-
-      return new Page<>(
-        objectsFuture.get(),
-        pageNumber,
-        pageSize,
-        count,
-        ceilDiv(count, pageSize)
-      );
+      int count = jdbcTemplate.query(plan.countSql(), this::count);
+
+      return new Rows(objectsFuture.get(), count);
     }
     catch (ExecutionException e)
     {
@@ -216,15 +584,22 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
   @Override
   public Collection<ObjectNode> findWhere(String query, Iterable<String> sort, Direction direction) throws FindException
   {
+    return coalesce(() -> selectWhere(query, sort, direction), JdbcDataRepository::copy, "findWhere", query, asList(sort), direction);
+  }
+
+  private Collection<ObjectNode> selectWhere(String query, Iterable<String> sort, Direction direction) throws FindException
+  {
+    TablePlan plan = this.plan;
+
     try
     {
-      JdbcPredicate predicate = queryParser.parse(query);
+      JdbcPredicate predicate = plan.queryParser().parse(query);
 
       //noinspection SqlSourceToSinkFlow
       return jdbcTemplate.query(
-        orderBy(where(selectSql, predicate.toSql()), sort, direction),
+        plan.orderBy(where(plan.selectSql(), predicate.toSql()), sort, direction),
         predicate::setValues,
-        this::object
+        plan::object
       );
     }
     catch (DataAccessException e)
@@ -236,27 +611,38 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
   @Override
   public Page<ObjectNode> findWhere(String query, int pageNumber, int pageSize, Iterable<String> sort, Direction direction) throws FindException
   {
+    return coalesce(
+      () -> selectPageWhere(query, pageNumber, pageSize, sort, direction),
+      Rows::copy,
+      "findWhere",
+      query,
+      pageNumber,
+      pageSize,
+      asList(sort),
+      direction
+    )
+      .page(pageNumber, pageSize);
+  }
+
+  private Rows selectPageWhere(String query, int pageNumber, int pageSize, Iterable<String> sort, Direction direction) throws FindException
+  {
+    TablePlan plan = this.plan;
+
     try
     {
-      JdbcPredicate predicate = queryParser.parse(query);
+      JdbcPredicate predicate = plan.queryParser().parse(query);
 
       Future<Collection<ObjectNode>> objectsFuture = queryExecutor.submit(
         () -> jdbcTemplate.query(
-          paginated(orderBy(where(selectSql, predicate.toSql()), sort, direction), pageNumber, pageSize),
+          paginated(plan.orderBy(where(plan.selectSql(), predicate.toSql()), sort, direction), pageNumber, pageSize),
           predicate::setValues,
-          this::object
+          plan::object
         )
       );
       @SuppressWarnings({"DataFlowIssue", "SqlSourceToSinkFlow"})
-      int count = jdbcTemplate.query(where(countSql, predicate.toSql()), predicate::setValues, this::count);
-
-      return new Page<>(
-        objectsFuture.get(),
-        pageNumber,
-        pageSize,
-        count,
-        ceilDiv(count, pageSize)
-      );
+      int count = jdbcTemplate.query(where(plan.countSql(), predicate.toSql()), predicate::setValues, this::count);
+
+      return new Rows(objectsFuture.get(), count);
     }
     catch (ExecutionException e)
     {
@@ -272,6 +658,8 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
   @Transactional
   public ObjectNode insert(ObjectNode object) throws InsertException
   {
+    TablePlan plan = this.plan;
+
     try
     {
       KeyHolder keyHolder = new GeneratedKeyHolder();
@@ -280,25 +668,27 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
         connection ->
         {
           PreparedStatement preparedStatement = connection.prepareStatement(
-            insertSql,
-            autoIncrementFields.isEmpty() ? PreparedStatement.NO_GENERATED_KEYS : PreparedStatement.RETURN_GENERATED_KEYS
+            plan.insertSql(),
+            plan.autoIncrementFields().isEmpty() ? PreparedStatement.NO_GENERATED_KEYS : PreparedStatement.RETURN_GENERATED_KEYS
           );
-          AtomicInteger parameterIndex = parameterIndex();
-          setValues(preparedStatement, parameterIndex, object, keyFields.stream().filter(keyField -> !keyField.column().autoIncrement()).toList());
-          setValues(preparedStatement, parameterIndex, object, mutableFields);
+          plan.insertBinder().bind(preparedStatement, object);
           return preparedStatement;
         },
         keyHolder
       );
 
-      if (autoIncrementFields.isEmpty()) return object;
+      if (plan.autoIncrementFields().isEmpty()) return object;
 
-      return withIdentifiers(object, keyHolder.getKeyList().getFirst());
+      return withIdentifiers(plan, object, keyHolder.getKeyList().getFirst());
     }
     catch (DataAccessException e)
     {
       throw new InsertException(e.getCause());
     }
+    finally
+    {
+      changed();
+    }
   }
 
   @Override
@@ -308,9 +698,10 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
     if (isEmpty(objects)) return emptyList();
     if (!(objects instanceof List)) return insertAll(asList(objects));
 
+    TablePlan plan = this.plan;
+
     try
     {
-      List<Field> insertableKeyFields = keyFields.stream().filter(keyField -> !keyField.column().autoIncrement()).toList();
       Collection<ObjectNode> persistedObjects = new ArrayList<>();
 
       partition((List<ObjectNode>)objects, batchSize).forEach(
@@ -320,14 +711,14 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
 
           jdbcTemplate.batchUpdate(
             connection -> connection.prepareStatement(
-              insertSql,
-              autoIncrementFields.isEmpty() ? PreparedStatement.NO_GENERATED_KEYS : PreparedStatement.RETURN_GENERATED_KEYS
+              plan.insertSql(),
+              plan.autoIncrementFields().isEmpty() ? PreparedStatement.NO_GENERATED_KEYS : PreparedStatement.RETURN_GENERATED_KEYS
             ),
-            batchPreparedStatementSetter(batch, insertableKeyFields, mutableFields),
+            batchPreparedStatementSetter(batch, plan.insertBinder()),
             keyHolder
           );
 
-          persistedObjects.addAll(autoIncrementFields.isEmpty() ? batch : withIdentifiers(batch, keyHolder.getKeyList()));
+          persistedObjects.addAll(plan.autoIncrementFields().isEmpty() ? batch : withIdentifiers(plan, batch, keyHolder.getKeyList()));
         }
       );
 
@@ -337,26 +728,25 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
     {
       throw new InsertException(e.getCause());
     }
+    finally
+    {
+      changed();
+    }
   }
 
   @Override
   @Transactional
   public ObjectNode update(ObjectNode object) throws UpdateException
   {
+    TablePlan plan = this.plan;
+
     try
     {
-      Collection<Field> mutableFields = mutableFields(object);
-      if (mutableFields.isEmpty()) throw new UpdateException("Unrecognized object: " + object);
+      BitSet presentFields = presentFields(plan, object);
 
-      jdbcTemplate.update(
-        updateSql(mutableFields),
-        preparedStatement ->
-        {
-          AtomicInteger parameterIndex = parameterIndex();
-          setValues(preparedStatement, parameterIndex, object, mutableFields);
-          setValues(preparedStatement, parameterIndex, object, keyFields);
-        }
-      );
+      UpdatePlan updatePlan = plan.updatePlan(presentFields);
+      int updated = jdbcTemplate.update(updatePlan.sql(), preparedStatement -> updatePlan.binder().bind(preparedStatement, object));
+      if (updated == 0 && plan.versionField() != null) throw new StaleObjectException(List.of(object));
 
       return find(object).orElseThrow(() -> new UpdateException("Failed to find object after update: " + object));
     }
@@ -364,6 +754,10 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
     {
       throw new UpdateException(e.getCause());
     }
+    finally
+    {
+      changed();
+    }
   }
 
   @Override
@@ -372,33 +766,75 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
   {
     if (isEmpty(objects)) return emptyList();
 
-    stream(objects.spliterator(), false).collect(groupingBy(this::mutableFields)).forEach(
-      (mutableFields, objectsForMutableFields) ->
-      {
-        if (mutableFields.isEmpty()) throw new UpdateException("Unrecognized objects: " + objectsForMutableFields);
-        String updateSql = updateSql(mutableFields);
+    TablePlan plan = this.plan;
 
-        partition(objectsForMutableFields, batchSize).forEach(
-          batch -> jdbcTemplate.batchUpdate(updateSql, batchPreparedStatementSetter(batch, mutableFields, keyFields))
-        );
-      }
-    );
+    Map<BitSet, List<ObjectNode>> objectsByPresentFields = new LinkedHashMap<>();
+    for (ObjectNode object : objects)
+    {
+      objectsByPresentFields.computeIfAbsent(presentFields(plan, object), key -> new ArrayList<>()).add(object);
+    }
+
+    List<ObjectNode> staleObjects = new ArrayList<>();
+
+    try
+    {
+      // mixed shapes go as one batch of the single shape, rather than a small batch per shape
+      if (singleShapeUpdates && objectsByPresentFields.size() > 1) updateBatches(plan.singleShapeUpdatePlan(), asList(objects), staleObjects);
+      else objectsByPresentFields.forEach(
+        (presentFields, objectsForPresentFields) -> updateBatches(plan.updatePlan(presentFields), objectsForPresentFields, staleObjects)
+      );
+    }
+    finally
+    {
+      changed();
+    }
+
+    // every batch runs so that all stale objects are reported together, and throwing rolls the rest back
+    if (!staleObjects.isEmpty() && plan.versionField() != null) throw new StaleObjectException(staleObjects);
 
     return findAll(objects);
   }
 
+  private BitSet presentFields(TablePlan plan, ObjectNode object)
+  {
+    BitSet presentFields = plan.presentFields(object);
+    if (presentFields.isEmpty()) throw new UpdateException("Unrecognized object: " + object);
+
+    Field versionField = plan.versionField();
+    if (versionField != null && !object.hasNonNull(versionField.name())) throw new UpdateException("Missing " + versionField.name() + ": " + object);
+
+    return presentFields;
+  }
+
+  private void updateBatches(UpdatePlan updatePlan, List<ObjectNode> objects, List<ObjectNode> staleObjects)
+  {
+    partition(objects, batchSize).forEach(
+      batch ->
+      {
+        // a row whose version has moved on matches nothing, SUCCESS_NO_INFO is taken as a match as the driver can't say
+        int[] updated = jdbcTemplate.batchUpdate(updatePlan.sql(), batchPreparedStatementSetter(batch, updatePlan.binder()));
+        for (int i = 0; i < updated.length; i++)
+        {
+          if (updated[i] == 0) staleObjects.add(batch.get(i));
+        }
+      }
+    );
+  }
+
   @Override
   @Transactional
   public Optional<ObjectNode> delete(ObjectNode key) throws DeleteException
   {
+    TablePlan plan = this.plan;
+
     try
     {
       ObjectNode object = find(key).orElse(null);
       if (object == null) return Optional.empty();
 
       jdbcTemplate.update(
-        where(deleteSql, keyPredicate),
-        preparedStatement -> setValues(preparedStatement, parameterIndex(), key, keyFields)
+        where(plan.deleteSql(), plan.keyPredicate()),
+        preparedStatement -> plan.keyBinder().bind(preparedStatement, key)
       );
 
       return Optional.of(object);
@@ -407,6 +843,10 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
     {
       throw new DeleteException(e.getCause());
     }
+    finally
+    {
+      changed();
+    }
   }
 
   @Override
@@ -418,12 +858,13 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
     Collection<ObjectNode> objects = findAll(keys);
     if (objects.size() != Iterables.size(keys)) return emptyList();
 
+    TablePlan plan = this.plan;
+
     try
     {
-      AtomicInteger parameterIndex = parameterIndex();
       jdbcTemplate.update(
-        where(deleteSql, repeat(format(PARENTHESIS, keyPredicate), LOGICAL_OR, size(keys))),
-        preparedStatement -> keys.forEach(wrapConsumer(key -> setValues(preparedStatement, parameterIndex, key, keyFields)))
+        where(plan.deleteSql(), repeat(format(PARENTHESIS, plan.keyPredicate()), LOGICAL_OR, size(keys))),
+        preparedStatement -> plan.keyBinder().bindAll(preparedStatement, keys)
       );
 
       return objects;
@@ -432,24 +873,156 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
     {
       throw new DeleteException(e.getCause());
     }
-    catch (WrappedException e)
+    finally
+    {
+      changed();
+    }
+  }
+
+  @Transactional
+  public int deleteWhere(String query) throws DeleteException
+  {
+    TablePlan plan = this.plan;
+    JdbcPredicate predicate = predicate(plan, query);
+
+    try
+    {
+      //noinspection SqlSourceToSinkFlow
+      return jdbcTemplate.update(where(plan.deleteSql(), predicate.toSql()), predicate::setValues);
+    }
+    catch (DataAccessException e)
+    {
+      throw new DeleteException(e.getCause());
+    }
+    finally
+    {
+      changed();
+    }
+  }
+
+  @Transactional
+  public List<ObjectNode> deleteWhereReturning(String query) throws DeleteException
+  {
+    requireDeltaTables();
+
+    TablePlan plan = this.plan;
+    JdbcPredicate predicate = predicate(plan, query);
+    String sql = deltaTable(plan, DELTA_TABLE_OLD, where(plan.deleteSql(), predicate.toSql()));
+
+    try
+    {
+      //noinspection SqlSourceToSinkFlow
+      return jdbcTemplate.query(sql, predicate::setValues, plan::object);
+    }
+    catch (DataAccessException e)
+    {
+      throw new DeleteException(e.getCause());
+    }
+    finally
     {
-      Throwable unwrapped = unwrapException(e);
-      if (unwrapped instanceof RuntimeException) throw (RuntimeException)unwrapped;
-      else throw new DeleteException(unwrapped);
+      changed();
     }
   }
 
-  @SafeVarargs
-  private BatchPreparedStatementSetter batchPreparedStatementSetter(List<ObjectNode> objects, Collection<Field>... fieldGroups)
+  @Transactional
+  public int updateWhere(String query, ObjectNode patch) throws UpdateException
+  {
+    TablePlan plan = this.plan;
+    JdbcPredicate predicate = predicate(plan, query);
+    Collection<Field> fields = patchFields(plan, patch);
+
+    try
+    {
+      // captured once, and bound after the patch
+      Binder binder = Binder.of(fields);
+      List<PredicateValue> predicateValues = Binder.values(predicate);
+
+      //noinspection SqlSourceToSinkFlow
+      return jdbcTemplate.update(plan.updateSql(fields, predicate.toSql()), preparedStatement -> binder.bind(preparedStatement, patch, predicateValues));
+    }
+    catch (SQLException e)
+    {
+      throw new UpdateException(e);
+    }
+    catch (DataAccessException e)
+    {
+      throw new UpdateException(e.getCause());
+    }
+    finally
+    {
+      changed();
+    }
+  }
+
+  @Transactional
+  public List<ObjectNode> updateWhereReturning(String query, ObjectNode patch) throws UpdateException
+  {
+    requireDeltaTables();
+
+    TablePlan plan = this.plan;
+    JdbcPredicate predicate = predicate(plan, query);
+    Collection<Field> fields = patchFields(plan, patch);
+    String sql = deltaTable(plan, DELTA_TABLE_FINAL, plan.updateSql(fields, predicate.toSql()));
+
+    try
+    {
+      // captured once, and bound after the patch
+      Binder binder = Binder.of(fields);
+      List<PredicateValue> predicateValues = Binder.values(predicate);
+
+      //noinspection SqlSourceToSinkFlow
+      return jdbcTemplate.query(sql, preparedStatement -> binder.bind(preparedStatement, patch, predicateValues), plan::object);
+    }
+    catch (SQLException e)
+    {
+      throw new UpdateException(e);
+    }
+    catch (DataAccessException e)
+    {
+      throw new UpdateException(e.getCause());
+    }
+    finally
+    {
+      changed();
+    }
+  }
+
+  private JdbcPredicate predicate(TablePlan plan, String query)
+  {
+    // a set-based write without a condition would touch every row, which is never what a caller of these means
+    if (query == null || query.isBlank()) throw new IllegalArgumentException("A query is required");
+
+    return plan.queryParser().parse(query);
+  }
+
+  private Collection<Field> patchFields(TablePlan plan, ObjectNode patch)
+  {
+    Collection<Field> fields = plan.mutableFields(patch);
+    if (fields.isEmpty()) throw new UpdateException("Unrecognized patch: " + patch);
+
+    return fields;
+  }
+
+  private void requireDeltaTables()
+  {
+    // checked before the query is parsed, so that a caller without the capability learns of that first
+    if (!deltaTables) throw new IllegalStateException("Returning changed rows requires data change delta tables");
+  }
+
+  private String deltaTable(TablePlan plan, String deltaTable, String sql)
+  {
+    // the rows changed come back with the change, in one statement, from databases with data change delta tables, e.g. H2 or DB2
+    return format(DELTA_TABLE, plan.fields().stream().map(field -> field.column().name()).collect(joining(COLUMN_SEPARATOR)), deltaTable, sql);
+  }
+
+  private BatchPreparedStatementSetter batchPreparedStatementSetter(List<ObjectNode> objects, Binder binder)
   {
     return new BatchPreparedStatementSetter()
     {
       @Override
       public void setValues(@Nonnull PreparedStatement preparedStatement, int index) throws SQLException
       {
-        AtomicInteger parameterIndex = parameterIndex();
-        for (Collection<Field> fieldGroup : fieldGroups) JdbcDataRepository.this.setValues(preparedStatement, parameterIndex, objects.get(index), fieldGroup);
+        binder.bind(preparedStatement, objects.get(index));
       }
 
       @Override
@@ -460,20 +1033,20 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
     };
   }
 
-  private List<ObjectNode> withIdentifiers(List<ObjectNode> objects, List<Map<String, Object>> identifiers)
+  private List<ObjectNode> withIdentifiers(TablePlan plan, List<ObjectNode> objects, List<Map<String, Object>> identifiers)
   {
     if (identifiers.size() != objects.size()) throw new InsertException("Identifier mismatch after insert");
 
     return IntStream.range(0, objects.size())
-      .mapToObj(i -> withIdentifiers(objects.get(i), identifiers.get(i)))
+      .mapToObj(i -> withIdentifiers(plan, objects.get(i), identifiers.get(i)))
       .toList();
   }
 
-  private ObjectNode withIdentifiers(ObjectNode object, Map<String, Object> identifiers)
+  private ObjectNode withIdentifiers(TablePlan plan, ObjectNode object, Map<String, Object> identifiers)
   {
     ObjectNode objectWithIdentifier = new ObjectNode(null);
 
-    for (Field field : fields)
+    for (Field field : plan.fields())
     {
       if (field.column().autoIncrement()) field.set(objectWithIdentifier, identifiers.get(field.column().name()));
       else if (object.has(field.name())) objectWithIdentifier.set(field.name(), object.get(field.name()));
@@ -482,145 +1055,188 @@ public class JdbcDataRepository implements DataRepository<ObjectNode, ObjectNode
     return objectWithIdentifier;
   }
 
-  private ObjectNode object(ResultSet resultSet, int i)
-  {
-    ObjectNode object = new ObjectNode(null);
-    keyFields.forEach(field -> setField(object, field.name(), get(field, resultSet)));
-    mutableFields.forEach(field -> setField(object, field.name(), get(field, resultSet)));
-
-    return object;
-  }
-
-  private int count(ResultSet resultSet) throws SQLException
+  private ObjectNode findFacets(String query, List<String> fieldNames, int limit) throws FindException
   {
-    return resultSet.next() ? resultSet.getInt(1) : 0;
-  }
+    TablePlan plan = this.plan;
+    List<Field> fields = fieldNames.stream().map(plan::field).toList();
+    JdbcPredicate predicate = query != null ? plan.queryParser().parse(query) : null;
 
-  private Collection<Field> mutableFields(ObjectNode object)
-  {
-    return mutableFields.stream().filter(field -> object.has(field.name())).toList();
-  }
-
-  private void setField(ObjectNode object, String name, JsonNode value)
-  {
-    if (value != null) object.set(name, value);
-  }
+    List<Future<List<ObjectNode>>> facetFutures = fields.stream()
+      .map(field -> queryExecutor.submit(() -> findFacet(field, predicate, limit)))
+      .toList();
 
-  private JsonNode get(Field field, ResultSet resultSet)
-  {
     try
     {
-      return field.type().asJsonType(field.getAsJavaType(resultSet));
-    }
-    catch (SQLException e)
-    {
-      throw new FindException(e);
-    }
-  }
+      ObjectNode facets = new ObjectNode(null);
+      for (int i = 0; i < fields.size(); i++) facets.set(fields.get(i).name(), new ArrayNode(null).addAll(facetFutures.get(i).get()));
 
-  private void setValues(PreparedStatement preparedStatement, AtomicInteger index, ObjectNode object, Collection<Field> fields) throws SQLException
-  {
-    try
+      return facets;
+    }
+    catch (ExecutionException e)
     {
-      fields.forEach(wrapConsumer(setValue(preparedStatement, index, object)));
+      throw new FindException(e.getCause().getCause());
     }
-    catch (WrappedException e)
+    catch (InterruptedException e)
     {
-      throw (SQLException)e.getCause();
+      throw new FindException(e);
     }
   }
 
-  private ConsumerWithThrows<Field, SQLException> setValue(PreparedStatement preparedStatement, AtomicInteger index, ObjectNode object)
+  private List<ObjectNode> findFacet(Field field, JdbcPredicate predicate, int limit)
   {
-    return field -> setValue(preparedStatement, index, field, field.getAsJavaType(object));
+    String sql = format(FACET, field.column().name(), schema, table);
+    if (predicate != null) sql = where(sql, predicate.toSql());
+
+    //noinspection SqlSourceToSinkFlow
+    return jdbcTemplate.query(
+      paginated(format(FACET_ORDER_BY, format(GROUP_BY, sql, field.column().name()), field.column().name()), 0, limit),
+      preparedStatement ->
+      {
+        if (predicate != null) predicate.setValues(preparedStatement);
+      },
+      (resultSet, i) ->
+      {
+        ObjectNode facet = new ObjectNode(null);
+        facet.set(FIELD_VALUE, nullable(field.getAsJsonType(resultSet)));
+        facet.set(FIELD_COUNT, LongNode.valueOf(resultSet.getLong(FACET_COUNT)));
+
+        return facet;
+      }
+    );
   }
 
-  private void setValue(PreparedStatement preparedStatement, AtomicInteger index, Field field, Object value) throws SQLException
+  private Field aggregateField(TablePlan plan, Aggregate aggregate)
   {
-    if (value != null) PreparedStatements.setValue(preparedStatement, index::getAndIncrement, value);
-    else preparedStatement.setNull(index.getAndIncrement(), field.column().type());
+    if (aggregate.fieldName() == null) return null;
+
+    Field field = plan.field(aggregate.fieldName());
+    if (!aggregate.function().accepts(field.type())) throw new IllegalArgumentException("Unsupported aggregate for " + field.type() + ": " + aggregate);
+
+    return field;
   }
 
-  private String selectSql(String schema, String table, Collection<Field> fields)
+  private ObjectNode aggregate(ResultSet resultSet, List<Field> groupByFields, List<Aggregate> aggregates, List<Field> aggregateFields) throws SQLException
   {
-    return format(
-      SELECT,
-      fields.stream().map(field -> field.column().name()).collect(joining(COLUMN_SEPARATOR)),
-      schema,
-      table
-    );
+    ObjectNode object = new ObjectNode(null);
+    for (Field field : groupByFields) object.set(field.name(), nullable(field.getAsJsonType(resultSet)));
+
+    for (int i = 0; i < aggregates.size(); i++)
+    {
+      Aggregate aggregate = aggregates.get(i);
+      String alias = format(AGGREGATE_ALIAS, i);
+
+      object.set(
+        aggregate.toString(),
+        switch (aggregate.function())
+        {
+          case COUNT -> LongNode.valueOf(resultSet.getLong(alias));
+          case SUM, AVG -> nullable(decimal(resultSet.getBigDecimal(alias)));
+          case MIN, MAX -> nullable(aggregateFields.get(i).type().getAsJsonType(resultSet, alias));
+        }
+      );
+    }
+
+    return object;
   }
 
-  private String countSql(String schema, String table)
+  private JsonNode decimal(BigDecimal value)
   {
-    return format(
-      COUNT,
-      schema,
-      table
-    );
+    return value != null ? DecimalNode.valueOf(value) : null;
   }
 
-  private String insertSql(String schema, String table, Collection<Field> fields)
+  private JsonNode nullable(JsonNode value)
   {
-    Collection<Field> insertableFields = fields.stream().filter(field -> !field.column().autoIncrement()).toList();
-
-    return format(
-      INSERT,
-      schema,
-      table,
-      insertableFields.stream().map(insertableField -> insertableField.column().name()).collect(joining(COLUMN_SEPARATOR)),
-      (COLUMN_PLACEHOLDER + COLUMN_SEPARATOR).repeat(insertableFields.size() - 1) + COLUMN_PLACEHOLDER
-    );
+    return value != null ? value : NullNode.getInstance();
   }
 
-  private String updateSql(Collection<Field> updatableFields)
+  private static Cache<FacetKey, ObjectNode> facetCache(long maximumSize)
   {
-    return format(
-      UPDATE,
-      schema,
-      table,
-      updatableFields.stream().map(field -> format(FIELD_PLACEHOLDER, field.column().name())).collect(joining(COLUMN_SEPARATOR)),
-      keyPredicate
-    );
+    return CacheBuilder.newBuilder().maximumSize(maximumSize).build();
   }
 
-  private String deleteSql(String schema, String table)
+  private List<Optional<ObjectNode>> lookup(List<ObjectNode> keys)
   {
-    return format(
-      DELETE,
-      schema,
-      table
-    );
+    TablePlan plan = this.plan;
+
+    try
+    {
+      // rows come back tagged with the position of their key, so are matched as the database compares keys (padding, collation or
+      // scale), rather than as their JSON compares
+      List<Optional<ObjectNode>> results = new ArrayList<>(nCopies(keys.size(), Optional.empty()));
+      jdbcTemplate.query(
+        plan.lookupSql(keys.size()),
+        preparedStatement -> plan.keyBinder().bindAll(preparedStatement, keys),
+        (resultSet, i) -> Map.entry(resultSet.getInt(LOOKUP_INDEX), plan.object(resultSet, i))
+      ).forEach(entry -> results.set(entry.getKey(), Optional.of(entry.getValue())));
+
+      return results;
+    }
+    catch (DataAccessException e)
+    {
+      throw new FindException(e.getCause());
+    }
   }
 
-  private String where(String sql, String predicate)
+  private <T> T coalesce(Supplier<T> read, UnaryOperator<T> copy, Object... parameters)
   {
-    return WHERE.formatted(sql, predicate);
+    // a transaction must see its own writes, so only reads outside one are shared
+    SingleFlight singleFlight = this.singleFlight;
+    if (singleFlight == null || TransactionSynchronizationManager.isActualTransactionActive()) return read.get();
+
+    // the version distinguishes reads of different plans and reads either side of a write
+    List<Object> key = new ArrayList<>(parameters.length + 1);
+    key.add(version.get());
+    key.addAll(Arrays.asList(parameters));
+
+    return singleFlight.execute(key, read, copy);
   }
 
-  private String orderBy(String sql, Iterable<String> sort, Direction direction)
+  private void changed()
   {
-    return format(
-      direction.isDescending() ? ORDER_BY_DESCENDING : ORDER_BY,
-      sql,
-      sortFields(Iterables.asSet(sort)).stream().map(field -> field.column().name()).collect(joining(COLUMN_SEPARATOR))
+    // called once the statements have run, and moved once the write is visible to other connections, so that a version is never
+    // paired with older data: on commit within a transaction, or straight away with auto-commit
+    if (!TransactionSynchronizationManager.isSynchronizationActive())
+    {
+      version.increment();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+      new TransactionSynchronization()
+      {
+        @Override
+        public void afterCompletion(int status)
+        {
+          version.increment();
+        }
+      }
     );
   }
 
-  private Collection<Field> sortFields(Collection<String> fieldNames)
+  private int count(ResultSet resultSet) throws SQLException
   {
-    return fieldNames.isEmpty()
-      ? keyFields
-      : fields.stream().filter(field -> fieldNames.contains(field.name())).collect(toSet());
+    return resultSet.next() ? resultSet.getInt(1) : 0;
   }
 
-  private String paginated(String sql, int pageNumber, int pageSize)
+  public record KeyRange(long min, long max, long count) {}
+
+  private static Collection<ObjectNode> copy(Collection<ObjectNode> objects)
   {
-    return format(OFFSET, sql, pageNumber * pageSize, pageSize);
+    return objects.stream().map(ObjectNode::deepCopy).collect(toCollection(ArrayList::new));
   }
 
-  private AtomicInteger parameterIndex()
+  private record Rows(Collection<ObjectNode> objects, int count)
   {
-    return new AtomicInteger(1);
+    Rows copy()
+    {
+      return new Rows(JdbcDataRepository.copy(objects), count);
+    }
+
+    Page<ObjectNode> page(int pageNumber, int pageSize)
+    {
+      return new Page<>(objects, pageNumber, pageSize, count, ceilDiv(count, pageSize));
+    }
   }
+
+  private record FacetKey(String version, String query, List<String> fieldNames, int limit) {}
 }
@@ -0,0 +1,118 @@
+package com.tn.service.data.jdbc.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.UnaryOperator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.domain.Table;
+
+public class JdbcDataRepositoryRegistry implements AutoCloseable
+{
+  private final ExecutorService queryExecutor;
+  private final JdbcTemplate jdbcTemplate;
+  private final FieldRepository fieldRepository;
+  private final TransactionManager transactionManager;
+  private final UnaryOperator<JdbcDataRepository> configuration;
+  private final Set<Table> tables;
+  private final Cache<Table, JdbcDataRepository> dataRepositories = CacheBuilder.newBuilder().build();
+  private final Cache<Table, Boolean> unknownTables;
+
+  public JdbcDataRepositoryRegistry(
+    ExecutorService queryExecutor,
+    JdbcTemplate jdbcTemplate,
+    FieldRepository fieldRepository,
+    TransactionManager transactionManager,
+    UnaryOperator<JdbcDataRepository> configuration,
+    Set<Table> tables,
+    Duration unknownTableExpiry
+  )
+  {
+    if (tables.isEmpty()) throw new IllegalArgumentException("No tables allowed");
+
+    this.queryExecutor = queryExecutor;
+    this.jdbcTemplate = jdbcTemplate;
+    this.fieldRepository = fieldRepository;
+    this.transactionManager = transactionManager;
+    this.configuration = configuration;
+    this.tables = Set.copyOf(tables);
+    this.unknownTables = CacheBuilder.newBuilder().expireAfterWrite(unknownTableExpiry).build();
+  }
+
+  public Optional<JdbcDataRepository> find(Table table)
+  {
+    if (!tables.contains(table)) return Optional.empty();
+
+    JdbcDataRepository dataRepository = dataRepositories.getIfPresent(table);
+    if (dataRepository != null) return Optional.of(dataRepository);
+
+    // an allowed table missing from the database is not looked for again until the entry expires
+    if (unknownTables.getIfPresent(table) != null) return Optional.empty();
+
+    try
+    {
+      // loaded outside any lock shared with other tables, and once however many requests ask for the table together
+      return Optional.of(dataRepositories.get(table, () -> dataRepository(table)));
+    }
+    catch (InvalidCacheLoadException e)
+    {
+      unknownTables.put(table, true);
+      return Optional.empty();
+    }
+    catch (ExecutionException | UncheckedExecutionException e)
+    {
+      if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private JdbcDataRepository dataRepository(Table table)
+  {
+    // null for a table with no columns, i.e. no such table, which the cache refuses
+    Collection<Field> fields = fieldRepository.findForTable(table.schema(), table.name());
+    if (fields.isEmpty()) return null;
+
+    // configured as the single table's repository is, each with its own version, caches and batching
+    return transactional(
+      configuration.apply(
+        new JdbcDataRepository(
+          queryExecutor,
+          jdbcTemplate,
+          table.schema(),
+          table.name(),
+          fields,
+          QueryParsers.forFields(fields)
+        )
+      )
+    );
+  }
+
+  @Override
+  public void close()
+  {
+    dataRepositories.asMap().values().forEach(JdbcDataRepository::close);
+  }
+
+  private JdbcDataRepository transactional(JdbcDataRepository dataRepository)
+  {
+    ProxyFactory proxyFactory = new ProxyFactory(dataRepository);
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+
+    return (JdbcDataRepository)proxyFactory.getProxy();
+  }
+}
@@ -0,0 +1,25 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.util.stream.Collectors.toMap;
+
+import java.util.Collection;
+
+import com.tn.query.DefaultQueryParser;
+import com.tn.query.QueryParser;
+import com.tn.query.ValueMappers;
+import com.tn.query.jdbc.JdbcPredicate;
+import com.tn.query.jdbc.JdbcPredicateFactory;
+import com.tn.service.data.jdbc.domain.Field;
+
+public final class QueryParsers
+{
+  private QueryParsers() {}
+
+  public static QueryParser<JdbcPredicate> forFields(Collection<Field> fields)
+  {
+    return new DefaultQueryParser<>(
+      new JdbcPredicateFactory(fields.stream().collect(toMap(Field::name, field -> field.column().name()))),
+      ValueMappers.forFields(fields.stream().map(field -> new ValueMappers.Field(field.name(), field.type().javaType())).toList())
+    );
+  }
+}
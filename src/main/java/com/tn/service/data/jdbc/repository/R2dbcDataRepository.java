@@ -0,0 +1,408 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.lang.Math.ceilDiv;
+import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toCollection;
+
+import static com.tn.lang.Iterables.isEmpty;
+import static com.tn.lang.Iterables.size;
+import static com.tn.lang.Strings.repeat;
+import static com.tn.service.data.jdbc.repository.TablePlan.COLUMN_PLACEHOLDER;
+import static com.tn.service.data.jdbc.repository.TablePlan.LOGICAL_OR;
+import static com.tn.service.data.jdbc.repository.TablePlan.PARENTHESIS;
+import static com.tn.service.data.jdbc.repository.TablePlan.paginated;
+import static com.tn.service.data.jdbc.repository.TablePlan.where;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.r2dbc.spi.Readable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import com.tn.lang.util.Page;
+import com.tn.query.QueryParser;
+import com.tn.query.jdbc.JdbcPredicate;
+import com.tn.service.data.domain.Direction;
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.domain.FieldType;
+import com.tn.service.data.repository.DataRepository;
+import com.tn.service.data.repository.DeleteException;
+import com.tn.service.data.repository.FindException;
+import com.tn.service.data.repository.InsertException;
+import com.tn.service.data.repository.UpdateException;
+
+public class R2dbcDataRepository implements DataRepository<ObjectNode, ObjectNode>
+{
+  private final DatabaseClient databaseClient;
+  private final TransactionalOperator transactionalOperator;
+  private final BindMarkersFactory bindMarkersFactory;
+  private final TablePlan plan;
+
+  private TableVersion version = new TableVersion();
+
+  public R2dbcDataRepository(
+    DatabaseClient databaseClient,
+    TransactionalOperator transactionalOperator,
+    BindMarkersFactory bindMarkersFactory,
+    String schema,
+    String table,
+    Collection<Field> fields,
+    QueryParser<JdbcPredicate> queryParser
+  )
+  {
+    this.databaseClient = databaseClient;
+    this.transactionalOperator = transactionalOperator;
+    this.bindMarkersFactory = bindMarkersFactory;
+    this.plan = TablePlan.of(schema, table, fields, queryParser);
+  }
+
+  public R2dbcDataRepository withVersion(TableVersion version)
+  {
+    this.version = version;
+    return this;
+  }
+
+  public Mono<ObjectNode> findOne(ObjectNode key)
+  {
+    return query(plan.findSql(), values(key, plan.keyFields())).next();
+  }
+
+  public Flux<ObjectNode> stream(Iterable<String> sort, Direction direction)
+  {
+    return query(plan.orderBy(plan.selectSql(), sort, direction), emptyList());
+  }
+
+  public Flux<ObjectNode> stream(Iterable<ObjectNode> keys)
+  {
+    if (isEmpty(keys)) return Flux.empty();
+
+    List<Parameter> parameters = new ArrayList<>();
+    keys.forEach(key -> parameters.addAll(values(key, plan.keyFields())));
+
+    return query(where(plan.selectSql(), repeat(format(PARENTHESIS, plan.keyPredicate()), LOGICAL_OR, size(keys))), parameters);
+  }
+
+  public Flux<ObjectNode> streamWhere(String query, Iterable<String> sort, Direction direction)
+  {
+    JdbcPredicate predicate = plan.queryParser().parse(query);
+
+    return query(plan.orderBy(where(plan.selectSql(), predicate.toSql()), sort, direction), values(predicate));
+  }
+
+  @Override
+  public Optional<ObjectNode> find(ObjectNode key) throws FindException
+  {
+    return findOne(key).onErrorMap(DataAccessException.class, e -> new FindException(e.getCause())).blockOptional();
+  }
+
+  @Override
+  public Collection<ObjectNode> findAll(Iterable<String> sort, Direction direction) throws FindException
+  {
+    return collect(stream(sort, direction));
+  }
+
+  @Override
+  public Collection<ObjectNode> findAll(Iterable<ObjectNode> keys) throws FindException
+  {
+    return collect(stream(keys));
+  }
+
+  @Override
+  public Page<ObjectNode> findAll(int pageNumber, int pageSize, Iterable<String> sort, Direction direction) throws FindException
+  {
+    return page(
+      query(paginated(plan.orderBy(plan.selectSql(), sort, direction), pageNumber, pageSize), emptyList()),
+      count(plan.countSql(), emptyList()),
+      pageNumber,
+      pageSize
+    );
+  }
+
+  @Override
+  public Collection<ObjectNode> findWhere(String query, Iterable<String> sort, Direction direction) throws FindException
+  {
+    return collect(streamWhere(query, sort, direction));
+  }
+
+  @Override
+  public Page<ObjectNode> findWhere(String query, int pageNumber, int pageSize, Iterable<String> sort, Direction direction) throws FindException
+  {
+    JdbcPredicate predicate = plan.queryParser().parse(query);
+    List<Parameter> parameters = values(predicate);
+
+    return page(
+      query(paginated(plan.orderBy(where(plan.selectSql(), predicate.toSql()), sort, direction), pageNumber, pageSize), parameters),
+      count(where(plan.countSql(), predicate.toSql()), parameters),
+      pageNumber,
+      pageSize
+    );
+  }
+
+  @Override
+  public ObjectNode insert(ObjectNode object) throws InsertException
+  {
+    return written(insertOne(object))
+      .onErrorMap(DataAccessException.class, e -> new InsertException(e.getCause()))
+      .block();
+  }
+
+  @Override
+  public Collection<ObjectNode> insertAll(Iterable<ObjectNode> objects) throws InsertException
+  {
+    if (isEmpty(objects)) return emptyList();
+
+    return written(Flux.fromIterable(objects).concatMap(this::insertOne).collectList())
+      .onErrorMap(DataAccessException.class, e -> new InsertException(e.getCause()))
+      .block();
+  }
+
+  @Override
+  public ObjectNode update(ObjectNode object) throws UpdateException
+  {
+    return written(updateOne(object))
+      .onErrorMap(DataAccessException.class, e -> new UpdateException(e.getCause()))
+      .block();
+  }
+
+  @Override
+  public Collection<ObjectNode> updateAll(Iterable<ObjectNode> objects) throws UpdateException
+  {
+    if (isEmpty(objects)) return emptyList();
+
+    return written(Flux.fromIterable(objects).concatMap(this::updateOne).collectList())
+      .onErrorMap(DataAccessException.class, e -> new UpdateException(e.getCause()))
+      .block();
+  }
+
+  @Override
+  public Optional<ObjectNode> delete(ObjectNode key) throws DeleteException
+  {
+    Mono<ObjectNode> delete = findOne(key).flatMap(
+      object -> statement(where(plan.deleteSql(), plan.keyPredicate()), values(key, plan.keyFields())).fetch().rowsUpdated().thenReturn(object)
+    );
+
+    return written(delete)
+      .onErrorMap(DataAccessException.class, e -> new DeleteException(e.getCause()))
+      .blockOptional();
+  }
+
+  @Override
+  public Collection<ObjectNode> deleteAll(Iterable<ObjectNode> keys) throws DeleteException
+  {
+    if (isEmpty(keys)) return emptyList();
+
+    List<Parameter> parameters = new ArrayList<>();
+    keys.forEach(key -> parameters.addAll(values(key, plan.keyFields())));
+
+    Mono<List<ObjectNode>> delete = stream(keys).collectList().flatMap(
+      objects -> objects.size() != size(keys)
+        ? Mono.just(List.<ObjectNode>of())
+        : statement(where(plan.deleteSql(), repeat(format(PARENTHESIS, plan.keyPredicate()), LOGICAL_OR, size(keys))), parameters)
+          .fetch()
+          .rowsUpdated()
+          .thenReturn(objects)
+    );
+
+    return written(delete)
+      .onErrorMap(DataAccessException.class, e -> new DeleteException(e.getCause()))
+      .block();
+  }
+
+  private <T> Mono<T> written(Mono<T> write)
+  {
+    // moved once the transaction has completed, as JdbcDataRepository does, so that a version is never paired with older data
+    return transactionalOperator.transactional(write).doFinally(signal -> version.increment());
+  }
+
+  private Mono<ObjectNode> insertOne(ObjectNode object)
+  {
+    List<Parameter> parameters = values(object, plan.insertableKeyFields());
+    parameters.addAll(values(object, plan.mutableFields()));
+
+    if (plan.autoIncrementFields().isEmpty()) return statement(plan.insertSql(), parameters).fetch().rowsUpdated().thenReturn(object);
+
+    return statement(plan.insertSql(), parameters)
+      .filter(statement -> statement.returnGeneratedValues(plan.autoIncrementFields().stream().map(field -> field.column().name()).toArray(String[]::new)))
+      .map(row -> withIdentifiers(object, row))
+      .one();
+  }
+
+  private Mono<ObjectNode> updateOne(ObjectNode object)
+  {
+    Collection<Field> mutableFields = plan.mutableFields(object);
+    if (mutableFields.isEmpty()) return Mono.error(new UpdateException("Unrecognized object: " + object));
+
+    List<Parameter> parameters = values(object, mutableFields);
+    parameters.addAll(values(object, plan.keyFields()));
+
+    return statement(plan.updateSql(mutableFields), parameters)
+      .fetch()
+      .rowsUpdated()
+      .then(findOne(object))
+      .switchIfEmpty(Mono.error(() -> new UpdateException("Failed to find object after update: " + object)));
+  }
+
+  private ObjectNode withIdentifiers(ObjectNode object, Readable row)
+  {
+    ObjectNode objectWithIdentifiers = object.deepCopy();
+
+    List<Field> autoIncrementFields = plan.autoIncrementFields();
+    for (int i = 0; i < autoIncrementFields.size(); i++)
+    {
+      Field field = autoIncrementFields.get(i);
+      Object value = row.get(i, r2dbcType(field.type()));
+      if (value != null) field.set(objectWithIdentifiers, javaValue(value));
+    }
+
+    return objectWithIdentifiers;
+  }
+
+  private Flux<ObjectNode> query(String sql, List<Parameter> parameters)
+  {
+    return statement(sql, parameters).map(this::object).all();
+  }
+
+  private Mono<Integer> count(String sql, List<Parameter> parameters)
+  {
+    return statement(sql, parameters).map(row -> row.get(0, Number.class)).one().map(Number::intValue);
+  }
+
+  private DatabaseClient.GenericExecuteSpec statement(String sql, List<Parameter> parameters)
+  {
+    DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(nativeSql(sql));
+
+    for (int i = 0; i < parameters.size(); i++)
+    {
+      Parameter parameter = parameters.get(i);
+      statement = parameter.value() != null ? statement.bind(i, parameter.value()) : statement.bindNull(i, parameter.type());
+    }
+
+    return statement;
+  }
+
+  private String nativeSql(String sql)
+  {
+    // the plan's SQL uses JDBC placeholders, which are replaced with those of the driver
+    BindMarkers bindMarkers = bindMarkersFactory.create();
+
+    StringBuilder nativeSql = new StringBuilder(sql.length());
+    for (int i = 0; i < sql.length(); i++)
+    {
+      char c = sql.charAt(i);
+      if (c == COLUMN_PLACEHOLDER.charAt(0)) nativeSql.append(bindMarkers.next().getPlaceholder());
+      else nativeSql.append(c);
+    }
+
+    return nativeSql.toString();
+  }
+
+  private ObjectNode object(Readable row)
+  {
+    ObjectNode object = new ObjectNode(null);
+    for (Field field : plan.keyFields()) setField(object, field, row);
+    for (Field field : plan.mutableFields()) setField(object, field, row);
+
+    return object;
+  }
+
+  private void setField(ObjectNode object, Field field, Readable row)
+  {
+    Object value = row.get(field.column().name(), r2dbcType(field.type()));
+    if (value != null) field.set(object, javaValue(value));
+  }
+
+  private List<Parameter> values(ObjectNode object, Collection<Field> fields)
+  {
+    List<Parameter> parameters = new ArrayList<>(fields.size());
+    for (Field field : fields) parameters.add(new Parameter(r2dbcValue(field.getAsJavaType(object)), r2dbcType(field.type())));
+
+    return parameters;
+  }
+
+  private List<Parameter> values(JdbcPredicate predicate)
+  {
+    try
+    {
+      return Binder.values(predicate).stream()
+        .map(predicateValue -> predicateValue.isNull() ? new Parameter(null, Object.class) : parameter(predicateValue.value()))
+        .collect(toCollection(ArrayList::new));
+    }
+    catch (SQLException e)
+    {
+      throw new FindException(e);
+    }
+  }
+
+  private Parameter parameter(Object value)
+  {
+    Object r2dbcValue = r2dbcValue(value);
+    return new Parameter(r2dbcValue, r2dbcValue.getClass());
+  }
+
+  private Collection<ObjectNode> collect(Flux<ObjectNode> objects)
+  {
+    return objects.onErrorMap(DataAccessException.class, e -> new FindException(e.getCause())).collectList().block();
+  }
+
+  private Page<ObjectNode> page(Flux<ObjectNode> objects, Mono<Integer> count, int pageNumber, int pageSize)
+  {
+    // the page and count queries run concurrently, as in JdbcDataRepository
+    return Mono.zip(objects.collectList(), count)
+      .map(pageAndCount -> new Page<>(pageAndCount.getT1(), pageNumber, pageSize, pageAndCount.getT2(), ceilDiv(pageAndCount.getT2(), pageSize)))
+      .onErrorMap(DataAccessException.class, e -> new FindException(e.getCause()))
+      .block();
+  }
+
+  private static Class<?> r2dbcType(FieldType fieldType)
+  {
+    return switch (fieldType)
+    {
+      case DATE -> LocalDate.class;
+      case TIME -> LocalTime.class;
+      case TIMESTAMP -> LocalDateTime.class;
+      default -> fieldType.javaType();
+    };
+  }
+
+  private static Object r2dbcValue(Object value)
+  {
+    return switch (value)
+    {
+      case null -> null;
+      case Date date -> date.toLocalDate();
+      case Time time -> time.toLocalTime();
+      case Timestamp timestamp -> timestamp.toLocalDateTime();
+      default -> value;
+    };
+  }
+
+  private static Object javaValue(Object value)
+  {
+    return switch (value)
+    {
+      case LocalDate localDate -> Date.valueOf(localDate);
+      case LocalTime localTime -> Time.valueOf(localTime);
+      case LocalDateTime localDateTime -> Timestamp.valueOf(localDateTime);
+      default -> value;
+    };
+  }
+
+  private record Parameter(Object value, Class<?> type) {}
+}
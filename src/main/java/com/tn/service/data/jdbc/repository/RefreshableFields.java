@@ -0,0 +1,48 @@
+package com.tn.service.data.jdbc.repository;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+
+import com.tn.service.data.jdbc.domain.Field;
+
+public class RefreshableFields extends AbstractList<Field>
+{
+  private volatile List<Field> fields;
+
+  public RefreshableFields(Collection<Field> fields)
+  {
+    this.fields = List.copyOf(fields);
+  }
+
+  public void refresh(Collection<Field> fields)
+  {
+    this.fields = List.copyOf(fields);
+  }
+
+  @Override
+  public Field get(int index)
+  {
+    return fields.get(index);
+  }
+
+  @Override
+  public int size()
+  {
+    return fields.size();
+  }
+
+  @Override
+  public Iterator<Field> iterator()
+  {
+    return fields.iterator();
+  }
+
+  @Override
+  public Spliterator<Field> spliterator()
+  {
+    return fields.spliterator();
+  }
+}
@@ -0,0 +1,92 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tn.service.data.jdbc.domain.Field;
+
+public class SchemaRefresher implements AutoCloseable
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaRefresher.class);
+
+  private final FieldRepository fieldRepository;
+  private final Supplier<JdbcDataRepository> dataRepository;
+  private final Supplier<RefreshableFields> fields;
+  private final String schema;
+  private final String table;
+
+  private ScheduledExecutorService scheduler;
+
+  public SchemaRefresher(
+    FieldRepository fieldRepository,
+    Supplier<JdbcDataRepository> dataRepository,
+    Supplier<RefreshableFields> fields,
+    String schema,
+    String table
+  )
+  {
+    this.fieldRepository = fieldRepository;
+    this.dataRepository = dataRepository;
+    this.fields = fields;
+    this.schema = schema;
+    this.table = table;
+  }
+
+  public SchemaRefresher withInterval(Duration interval)
+  {
+    if (interval.isZero() || interval.isNegative()) return this;
+
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("schema-refresh").factory());
+    this.scheduler.scheduleWithFixedDelay(this::refreshQuietly, interval.toMillis(), interval.toMillis(), MILLISECONDS);
+
+    return this;
+  }
+
+  public Collection<Field> fields()
+  {
+    return dataRepository.get().fields();
+  }
+
+  public synchronized boolean refresh()
+  {
+    Collection<Field> fields = fieldRepository.findForTable(schema, table);
+    if (fields.isEmpty()) throw new IllegalStateException("No such table: " + schema + "." + table);
+
+    JdbcDataRepository dataRepository = this.dataRepository.get();
+    if (List.copyOf(fields).equals(List.copyOf(dataRepository.fields()))) return false;
+
+    dataRepository.refresh(fields);
+    this.fields.get().refresh(fields);
+
+    LOGGER.info("Refreshed fields for {}.{}: {}", schema, table, fields);
+
+    return true;
+  }
+
+  @Override
+  public void close()
+  {
+    if (scheduler != null) scheduler.shutdownNow();
+  }
+
+  private void refreshQuietly()
+  {
+    try
+    {
+      refresh();
+    }
+    catch (RuntimeException e)
+    {
+      LOGGER.warn("Failed to refresh fields for {}.{}", schema, table, e);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.tn.service.data.jdbc.repository;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class SingleFlight
+{
+  private static final String METRIC_REQUESTS = "tn.data.single-flight.requests";
+  private static final String TAG_OUTCOME = "outcome";
+
+  private final Map<Object, Flight> inFlight = new ConcurrentHashMap<>();
+  private final Counter executed;
+  private final Counter coalesced;
+
+  public SingleFlight(MeterRegistry meterRegistry)
+  {
+    this.executed = counter(meterRegistry, "executed");
+    this.coalesced = counter(meterRegistry, "coalesced");
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T execute(Object key, Supplier<T> read, UnaryOperator<T> copy)
+  {
+    // joining happens under the map's lock for the key, so once the flight is removed its joiner count is final
+    Flight created = new Flight();
+    Flight flight = inFlight.compute(key, (k, existing) -> existing == null ? created : existing.join());
+
+    if (flight != created)
+    {
+      coalesced.increment();
+      return copy.apply((T)join(flight.result()));
+    }
+
+    executed.increment();
+
+    try
+    {
+      T value = read.get();
+      created.result().complete(value);
+      inFlight.remove(key, created);
+
+      // the result is shared with joiners, so when there are any every caller gets its own copy and none sees another's changes
+      return created.joiners() == 0 ? value : copy.apply(value);
+    }
+    catch (RuntimeException | Error e)
+    {
+      created.result().completeExceptionally(e);
+      throw e;
+    }
+    finally
+    {
+      // later requests run their own query, so they never see a result older than their arrival by more than one query
+      inFlight.remove(key, created);
+    }
+  }
+
+  private static Object join(CompletableFuture<Object> result)
+  {
+    try
+    {
+      return result.join();
+    }
+    catch (CompletionException e)
+    {
+      if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+      if (e.getCause() instanceof Error error) throw error;
+      throw e;
+    }
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String outcome)
+  {
+    return Counter.builder(METRIC_REQUESTS)
+      .description("Reads executed, or coalesced with an identical read already in flight")
+      .tag(TAG_OUTCOME, outcome)
+      .register(meterRegistry);
+  }
+
+  private record Flight(CompletableFuture<Object> result, AtomicInteger joinerCount)
+  {
+    Flight()
+    {
+      this(new CompletableFuture<>(), new AtomicInteger());
+    }
+
+    Flight join()
+    {
+      joinerCount.incrementAndGet();
+      return this;
+    }
+
+    int joiners()
+    {
+      return joinerCount.get();
+    }
+  }
+}
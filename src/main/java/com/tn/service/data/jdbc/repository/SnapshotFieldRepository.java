@@ -0,0 +1,117 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.repository.FindException;
+
+public class SnapshotFieldRepository implements FieldRepository
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotFieldRepository.class);
+
+  private static final String SNAPSHOT_FILE = "%s.%s.json";
+  private static final String SNAPSHOT_FILE_TEMP = "%s.%s.json.tmp";
+  private static final TypeReference<List<Field>> TYPE_REFERENCE_FIELDS = new TypeReference<>() {};
+
+  private final FieldRepository fieldRepository;
+  private final Path directory;
+  private final ObjectMapper objectMapper;
+  private final Set<String> snapshotsUsed = ConcurrentHashMap.newKeySet();
+  private final List<BiConsumer<String, String>> changeListeners = new CopyOnWriteArrayList<>();
+
+  public SnapshotFieldRepository(FieldRepository fieldRepository, Path directory, ObjectMapper objectMapper)
+  {
+    this.fieldRepository = fieldRepository;
+    this.directory = directory;
+    this.objectMapper = objectMapper;
+  }
+
+  public SnapshotFieldRepository withChangeListener(BiConsumer<String, String> changeListener)
+  {
+    changeListeners.add(changeListener);
+    return this;
+  }
+
+  @Override
+  public Collection<Field> findForTable(String schema, String table) throws FindException
+  {
+    Collection<Field> snapshot = snapshotsUsed.add(SNAPSHOT_FILE.formatted(schema, table)) ? readSnapshot(schema, table) : null;
+    if (snapshot == null)
+    {
+      Collection<Field> fields = fieldRepository.findForTable(schema, table);
+      if (!fields.isEmpty()) writeSnapshot(schema, table, fields);
+
+      return fields;
+    }
+
+    Thread.ofVirtual().name("field-snapshot-" + schema + "." + table).start(() -> checkSnapshot(schema, table, snapshot));
+
+    return snapshot;
+  }
+
+  private void checkSnapshot(String schema, String table, Collection<Field> snapshot)
+  {
+    try
+    {
+      Collection<Field> fields = fieldRepository.findForTable(schema, table);
+      if (List.copyOf(fields).equals(List.copyOf(snapshot))) return;
+
+      LOGGER.warn("Field snapshot for {}.{} differs from the database and will be replaced", schema, table);
+      writeSnapshot(schema, table, fields);
+      changeListeners.forEach(changeListener -> changeListener.accept(schema, table));
+    }
+    catch (RuntimeException e)
+    {
+      LOGGER.warn("Failed to check field snapshot for {}.{}", schema, table, e);
+    }
+  }
+
+  private Collection<Field> readSnapshot(String schema, String table)
+  {
+    Path snapshotFile = directory.resolve(SNAPSHOT_FILE.formatted(schema, table));
+    if (!Files.isReadable(snapshotFile)) return null;
+
+    try
+    {
+      List<Field> fields = objectMapper.readValue(snapshotFile.toFile(), TYPE_REFERENCE_FIELDS);
+      return fields.isEmpty() ? null : fields;
+    }
+    catch (IOException e)
+    {
+      LOGGER.warn("Ignoring unreadable field snapshot: {}", snapshotFile, e);
+      return null;
+    }
+  }
+
+  private void writeSnapshot(String schema, String table, Collection<Field> fields)
+  {
+    try
+    {
+      Files.createDirectories(directory);
+
+      Path snapshotFileTemp = directory.resolve(SNAPSHOT_FILE_TEMP.formatted(schema, table));
+      objectMapper.writeValue(snapshotFileTemp.toFile(), fields);
+      Files.move(snapshotFileTemp, directory.resolve(SNAPSHOT_FILE.formatted(schema, table)), REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+    catch (IOException e)
+    {
+      LOGGER.warn("Failed to write field snapshot for {}.{}", schema, table, e);
+    }
+  }
+}
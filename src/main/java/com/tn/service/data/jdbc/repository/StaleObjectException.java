@@ -0,0 +1,23 @@
+package com.tn.service.data.jdbc.repository;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import com.tn.service.data.repository.UpdateException;
+
+public class StaleObjectException extends UpdateException
+{
+  private final List<ObjectNode> staleObjects;
+
+  public StaleObjectException(List<ObjectNode> staleObjects)
+  {
+    super("Stale or missing objects: " + staleObjects);
+    this.staleObjects = List.copyOf(staleObjects);
+  }
+
+  public List<ObjectNode> getStaleObjects()
+  {
+    return staleObjects;
+  }
+}
@@ -0,0 +1,374 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Stream.concat;
+
+import static com.tn.service.data.jdbc.domain.FieldType.INTEGER;
+import static com.tn.service.data.jdbc.domain.FieldType.LONG;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import com.tn.lang.Iterables;
+import com.tn.query.QueryParser;
+import com.tn.query.jdbc.JdbcPredicate;
+import com.tn.service.data.domain.Direction;
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.repository.FindException;
+
+record TablePlan(
+  String schema,
+  String table,
+  List<Field> fields,
+  List<Field> autoIncrementFields,
+  List<Field> keyFields,
+  List<Field> insertableKeyFields,
+  List<Field> mutableFields,
+  List<Field> updatableFields,
+  List<Field> conditionFields,
+  Field numericKeyField,
+  Field versionField,
+  QueryParser<JdbcPredicate> queryParser,
+  String keyPredicate,
+  String updatePredicate,
+  String selectSql,
+  String findSql,
+  String countSql,
+  String insertSql,
+  String deleteSql,
+  Binder keyBinder,
+  Binder insertBinder,
+  UpdatePlan singleShapeUpdatePlan,
+  Cache<BitSet, UpdatePlan> updatePlans
+)
+{
+  static final String COLUMN_PLACEHOLDER = "?";
+  static final String COLUMN_SEPARATOR = ", ";
+  static final String FIELD_PLACEHOLDER = "%s = ?";
+  static final String LOOKUP_INDEX = "LOOKUP_INDEX";
+  static final String LOGICAL_AND = " AND ";
+  static final String LOGICAL_OR = " OR ";
+  static final String ORDER_BY = "%s ORDER BY %s ASC";
+  static final String PARENTHESIS = "(%s)";
+  static final String WHERE = "%s WHERE %s";
+  static final int MAX_UPDATE_PLANS = 256;
+
+  private static final String ORDER_BY_DESCENDING = "%s ORDER BY %s DESC";
+  private static final String OFFSET = "%s OFFSET %d ROWS FETCH NEXT %d ROWS ONLY";
+
+  private static final String FIELD_FLAGGED = "%1$s = CASE WHEN ? = 1 THEN ? ELSE %1$s END";
+  private static final String FIELD_INCREMENTED = "%1$s = %1$s + 1";
+  private static final String FIELD_GREATER_THAN = "%s > ?";
+  private static final String FIELD_NOT_NULL = "%s IS NOT NULL";
+
+  private static final String SELECT = "SELECT %s FROM %s.%s";
+  private static final String SELECT_INDEXED = "SELECT %d AS %s, %s FROM %s.%s WHERE %s";
+  private static final String UNION_ALL = " UNION ALL ";
+  private static final String COUNT = "SELECT COUNT(*) FROM %s.%s";
+  private static final String INSERT = "INSERT INTO %s.%s(%s) VALUES (%s)";
+  private static final String UPDATE = "UPDATE %s.%s SET %s WHERE %s";
+  private static final String DELETE = "DELETE FROM %s.%s";
+
+  static TablePlan of(String schema, String table, Collection<Field> fields, QueryParser<JdbcPredicate> queryParser)
+  {
+    return of(schema, table, fields, queryParser, null);
+  }
+
+  static TablePlan of(String schema, String table, Collection<Field> fields, QueryParser<JdbcPredicate> queryParser, String versionFieldName)
+  {
+    List<Field> planFields = List.copyOf(fields);
+    List<Field> keyFields = planFields.stream().filter(field -> field.column().key()).toList();
+    List<Field> insertableKeyFields = keyFields.stream().filter(keyField -> !keyField.column().autoIncrement()).toList();
+    List<Field> mutableFields = planFields.stream().filter(field -> !field.column().key()).toList();
+    Field versionField = versionField(mutableFields, versionFieldName);
+    List<Field> updatableFields = mutableFields.stream().filter(field -> !field.equals(versionField)).toList();
+    List<Field> conditionFields = versionField == null ? keyFields : concat(keyFields.stream(), Stream.of(versionField)).toList();
+    String keyPredicate = keyFields.stream().map(field -> format(FIELD_PLACEHOLDER, field.column().name())).collect(joining(LOGICAL_AND));
+    String updatePredicate = conditionFields.stream().map(field -> format(FIELD_PLACEHOLDER, field.column().name())).collect(joining(LOGICAL_AND));
+    String selectSql = selectSql(schema, table, planFields);
+
+    return new TablePlan(
+      schema,
+      table,
+      planFields,
+      planFields.stream().filter(field -> field.column().autoIncrement()).toList(),
+      keyFields,
+      insertableKeyFields,
+      mutableFields,
+      updatableFields,
+      conditionFields,
+      numericKeyField(keyFields),
+      versionField,
+      queryParser,
+      keyPredicate,
+      updatePredicate,
+      selectSql,
+      WHERE.formatted(selectSql, keyPredicate),
+      format(COUNT, schema, table),
+      insertSql(schema, table, planFields),
+      format(DELETE, schema, table),
+      Binder.of(keyFields),
+      Binder.of(insertableKeyFields, mutableFields),
+      singleShapeUpdatePlan(schema, table, updatableFields, conditionFields, versionField, updatePredicate),
+      // the shapes come from clients and a table with n updatable fields has 2^n of them, so only the recent ones are kept
+      CacheBuilder.newBuilder().maximumSize(MAX_UPDATE_PLANS).build()
+    );
+  }
+
+  static String where(String sql, String predicate)
+  {
+    return WHERE.formatted(sql, predicate);
+  }
+
+  static String paginated(String sql, int pageNumber, int pageSize)
+  {
+    return format(OFFSET, sql, pageNumber * pageSize, pageSize);
+  }
+
+  String orderBy(String sql, Iterable<String> sort, Direction direction)
+  {
+    return format(
+      direction.isDescending() ? ORDER_BY_DESCENDING : ORDER_BY,
+      sql,
+      sortFields(Iterables.asSet(sort)).stream().map(field -> field.column().name()).collect(joining(COLUMN_SEPARATOR))
+    );
+  }
+
+  String lookupSql(int keyCount)
+  {
+    // a branch per key, tagged with its position
+    String columns = fields.stream().map(field -> field.column().name()).collect(joining(COLUMN_SEPARATOR));
+
+    return IntStream.range(0, keyCount)
+      .mapToObj(i -> format(SELECT_INDEXED, i, LOOKUP_INDEX, columns, schema, table, keyPredicate))
+      .collect(joining(UNION_ALL));
+  }
+
+  String updateSql(Collection<Field> updatableFields)
+  {
+    return updateSql(updatableFields, updatePredicate);
+  }
+
+  String updateSql(Collection<Field> updatableFields, String predicate)
+  {
+    return format(
+      UPDATE,
+      schema,
+      table,
+      assignments(updatableFields.stream().map(field -> format(FIELD_PLACEHOLDER, field.column().name())), versionField),
+      predicate
+    );
+  }
+
+  ObjectNode key(ObjectNode object)
+  {
+    // coerced, so that keys compare equal whichever numeric node type they were given as
+    ObjectNode key = new ObjectNode(null);
+    for (Field field : keyFields)
+    {
+      JsonNode value = object.get(field.name());
+      if (value != null) key.set(field.name(), field.coerce(value));
+    }
+
+    return key;
+  }
+
+  BitSet presentFields(ObjectNode object)
+  {
+    BitSet presentFields = new BitSet(updatableFields.size());
+    for (int i = 0; i < updatableFields.size(); i++)
+    {
+      if (object.has(updatableFields.get(i).name())) presentFields.set(i);
+    }
+
+    return presentFields;
+  }
+
+  UpdatePlan updatePlan(BitSet presentFields)
+  {
+    return updatePlans.asMap().computeIfAbsent(
+      presentFields,
+      key ->
+      {
+        List<Field> presentUpdatableFields = key.stream().mapToObj(updatableFields::get).toList();
+        return new UpdatePlan(updateSql(presentUpdatableFields), Binder.of(presentUpdatableFields, conditionFields));
+      }
+    );
+  }
+
+  Collection<Field> mutableFields(ObjectNode object)
+  {
+    return updatableFields.stream().filter(field -> object.has(field.name())).toList();
+  }
+
+  Collection<Field> sortFields(Collection<String> fieldNames)
+  {
+    return fieldNames.isEmpty()
+      ? keyFields
+      : fields.stream().filter(field -> fieldNames.contains(field.name())).collect(toSet());
+  }
+
+  Field field(String fieldName)
+  {
+    return fields.stream()
+      .filter(field -> field.name().equals(fieldName))
+      .findFirst()
+      .orElseThrow(() -> new IllegalArgumentException("Unknown field: " + fieldName));
+  }
+
+  List<Field> keysetFields(String fieldName)
+  {
+    if (fieldName == null) return keyFields;
+
+    Field field = field(fieldName);
+
+    List<Field> keysetFields = new ArrayList<>(keyFields.size() + 1);
+    keysetFields.add(field);
+    keyFields.stream().filter(keyField -> !keyField.equals(field)).forEach(keysetFields::add);
+
+    return keysetFields;
+  }
+
+  String keysetPredicate(List<Field> keysetFields, boolean after)
+  {
+    // (a, b, c) > (?, ?, ?) expanded to a > ? OR (a = ? AND b > ?) OR (a = ? AND b = ? AND c > ?), as not all databases support row values
+    String predicate = !after
+      ? null
+      : IntStream.range(0, keysetFields.size())
+        .mapToObj(
+          i -> format(
+            PARENTHESIS,
+            IntStream.rangeClosed(0, i)
+              .mapToObj(j -> format(j < i ? FIELD_PLACEHOLDER : FIELD_GREATER_THAN, keysetFields.get(j).column().name()))
+              .collect(joining(LOGICAL_AND))
+          )
+        )
+        .collect(joining(LOGICAL_OR));
+
+    Field first = keysetFields.getFirst();
+    if (!first.column().nullable()) return predicate;
+
+    String notNull = format(FIELD_NOT_NULL, first.column().name());
+    return predicate == null ? notNull : notNull + LOGICAL_AND + format(PARENTHESIS, predicate);
+  }
+
+  ObjectNode object(ResultSet resultSet, int i)
+  {
+    ObjectNode object = new ObjectNode(null);
+    for (Field field : keyFields) setField(object, field.name(), get(field, resultSet));
+    for (Field field : mutableFields) setField(object, field.name(), get(field, resultSet));
+
+    return object;
+  }
+
+  private static void setField(ObjectNode object, String name, JsonNode value)
+  {
+    if (value != null) object.set(name, value);
+  }
+
+  private static JsonNode get(Field field, ResultSet resultSet)
+  {
+    try
+    {
+      return field.getAsJsonType(resultSet);
+    }
+    catch (SQLException e)
+    {
+      throw new FindException(e);
+    }
+  }
+
+  record UpdatePlan(String sql, Binder binder) {}
+
+  private static Field numericKeyField(List<Field> keyFields)
+  {
+    // a single integral key, which can be bound directly from a primitive
+    if (keyFields.size() != 1) return null;
+
+    Field keyField = keyFields.getFirst();
+    return keyField.type() == INTEGER || keyField.type() == LONG ? keyField : null;
+  }
+
+  private static Field versionField(List<Field> mutableFields, String versionFieldName)
+  {
+    if (versionFieldName == null) return null;
+
+    Field versionField = mutableFields.stream()
+      .filter(field -> field.name().equals(versionFieldName))
+      .findFirst()
+      .orElseThrow(() -> new IllegalArgumentException("Unknown or key version field: " + versionFieldName));
+
+    // a null version never matches version = ?, so every update of such a row would be reported stale
+    if (versionField.column().nullable()) throw new IllegalArgumentException("Nullable version field: " + versionFieldName);
+
+    return versionField;
+  }
+
+  private static UpdatePlan singleShapeUpdatePlan(
+    String schema,
+    String table,
+    List<Field> updatableFields,
+    List<Field> conditionFields,
+    Field versionField,
+    String updatePredicate
+  )
+  {
+    if (updatableFields.isEmpty()) return null;
+
+    // every updatable field is set, to its bound value when flagged present or to itself otherwise, so any mix of fields shares it
+    return new UpdatePlan(
+      format(
+        UPDATE,
+        schema,
+        table,
+        assignments(updatableFields.stream().map(field -> format(FIELD_FLAGGED, field.column().name())), versionField),
+        updatePredicate
+      ),
+      Binder.flagged(updatableFields, conditionFields)
+    );
+  }
+
+  private static String assignments(Stream<String> assignments, Field versionField)
+  {
+    // the version is bumped by the database, so a concurrent writer still holding the old version matches no row
+    return versionField == null
+      ? assignments.collect(joining(COLUMN_SEPARATOR))
+      : concat(assignments, Stream.of(format(FIELD_INCREMENTED, versionField.column().name()))).collect(joining(COLUMN_SEPARATOR));
+  }
+
+  private static String selectSql(String schema, String table, Collection<Field> fields)
+  {
+    return format(
+      SELECT,
+      fields.stream().map(field -> field.column().name()).collect(joining(COLUMN_SEPARATOR)),
+      schema,
+      table
+    );
+  }
+
+  private static String insertSql(String schema, String table, Collection<Field> fields)
+  {
+    Collection<Field> insertableFields = fields.stream().filter(field -> !field.column().autoIncrement()).toList();
+
+    return format(
+      INSERT,
+      schema,
+      table,
+      insertableFields.stream().map(insertableField -> insertableField.column().name()).collect(joining(COLUMN_SEPARATOR)),
+      (COLUMN_PLACEHOLDER + COLUMN_SEPARATOR).repeat(insertableFields.size() - 1) + COLUMN_PLACEHOLDER
+    );
+  }
+}
@@ -0,0 +1,85 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TableVersion implements AutoCloseable
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger(TableVersion.class);
+
+  private static final String SEPARATOR = "-";
+
+  // distinguishes versions of different instances, and of this instance across restarts
+  private final String instance = Long.toHexString(UUID.randomUUID().getMostSignificantBits());
+  private final AtomicLong counter = new AtomicLong();
+  private final AtomicReference<CompletableFuture<Void>> change = new AtomicReference<>(new CompletableFuture<>());
+
+  private volatile String externalVersion = "";
+  private ScheduledExecutorService scheduler;
+
+  public TableVersion withExternalVersion(Supplier<String> externalVersion, Duration interval)
+  {
+    pollQuietly(externalVersion);
+
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("table-version").factory());
+    this.scheduler.scheduleWithFixedDelay(() -> pollQuietly(externalVersion), interval.toMillis(), interval.toMillis(), MILLISECONDS);
+
+    return this;
+  }
+
+  public String get()
+  {
+    return instance + SEPARATOR + counter.get() + SEPARATOR + externalVersion;
+  }
+
+  public CompletableFuture<Void> onChange(String version)
+  {
+    // read before comparing, so that a change between the two completes the future returned
+    CompletableFuture<Void> change = this.change.get();
+    return version.equals(get()) ? change.copy() : CompletableFuture.completedFuture(null);
+  }
+
+  public void increment()
+  {
+    counter.incrementAndGet();
+    changed();
+  }
+
+  @Override
+  public void close()
+  {
+    if (scheduler != null) scheduler.shutdownNow();
+  }
+
+  private void changed()
+  {
+    change.getAndSet(new CompletableFuture<>()).complete(null);
+  }
+
+  private void pollQuietly(Supplier<String> externalVersion)
+  {
+    try
+    {
+      String polledVersion = String.valueOf(externalVersion.get());
+      if (polledVersion.equals(this.externalVersion)) return;
+
+      this.externalVersion = polledVersion;
+      changed();
+    }
+    catch (RuntimeException e)
+    {
+      LOGGER.warn("Failed to poll external table version", e);
+    }
+  }
+}
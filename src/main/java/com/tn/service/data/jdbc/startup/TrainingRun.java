@@ -0,0 +1,56 @@
+package com.tn.service.data.jdbc.startup;
+
+import java.util.function.IntConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+public class TrainingRun implements ApplicationRunner, Ordered
+{
+  public static final String PROFILE = "training";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TrainingRun.class);
+
+  private final ApplicationContext applicationContext;
+  private final Environment environment;
+  private final IntConsumer exit;
+
+  public TrainingRun(ApplicationContext applicationContext, Environment environment)
+  {
+    this(applicationContext, environment, System::exit);
+  }
+
+  TrainingRun(ApplicationContext applicationContext, Environment environment, IntConsumer exit)
+  {
+    this.applicationContext = applicationContext;
+    this.environment = environment;
+    this.exit = exit;
+  }
+
+  @Override
+  public void run(ApplicationArguments args)
+  {
+    // AOT fixes the bean's profile condition at build time, so the profile is checked again before exiting
+    if (!environment.acceptsProfiles(Profiles.of(PROFILE)))
+    {
+      LOGGER.debug("Not exiting, the {} profile is not active", PROFILE);
+      return;
+    }
+
+    LOGGER.info("Training run complete, exiting");
+    exit.accept(SpringApplication.exit(applicationContext));
+  }
+
+  @Override
+  public int getOrder()
+  {
+    return Ordered.LOWEST_PRECEDENCE;
+  }
+}
@@ -0,0 +1,110 @@
+package com.tn.service.data.jdbc.startup;
+
+import static java.util.Collections.emptySet;
+
+import static com.tn.service.data.domain.Direction.ASCENDING;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.parameter.IdentityParser;
+import com.tn.service.data.parameter.QueryBuilder;
+
+public class WarmUp implements ApplicationRunner, Ordered
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger(WarmUp.class);
+
+  private final DataSource dataSource;
+  private final ObjectProvider<JdbcDataRepository> dataRepository;
+  private final ObjectProvider<IdentityParser<?, ?>> identityParser;
+  private final ObjectProvider<QueryBuilder> queryBuilder;
+  private final int connections;
+  private final int iterations;
+  private final int pageSize;
+
+  public WarmUp(
+    DataSource dataSource,
+    ObjectProvider<JdbcDataRepository> dataRepository,
+    ObjectProvider<IdentityParser<?, ?>> identityParser,
+    ObjectProvider<QueryBuilder> queryBuilder,
+    int connections,
+    int iterations,
+    int pageSize
+  )
+  {
+    this.dataSource = dataSource;
+    this.dataRepository = dataRepository;
+    this.identityParser = identityParser;
+    this.queryBuilder = queryBuilder;
+    this.connections = connections;
+    this.iterations = iterations;
+    this.pageSize = pageSize;
+  }
+
+  @Override
+  public void run(ApplicationArguments args)
+  {
+    long start = System.currentTimeMillis();
+
+    try
+    {
+      JdbcDataRepository dataRepository = this.dataRepository.getIfAvailable();
+      identityParser.getIfAvailable();
+      queryBuilder.getIfAvailable();
+
+      fillPool(dataRepository);
+      if (dataRepository != null) exercise(dataRepository);
+
+      LOGGER.info("Warm-up completed in {}ms", System.currentTimeMillis() - start);
+    }
+    catch (RuntimeException | SQLException e)
+    {
+      LOGGER.warn("Warm-up failed after {}ms", System.currentTimeMillis() - start, e);
+    }
+  }
+
+  @Override
+  public int getOrder()
+  {
+    return 0;
+  }
+
+  private void fillPool(JdbcDataRepository dataRepository) throws SQLException
+  {
+    List<Connection> openConnections = new ArrayList<>(connections);
+
+    try
+    {
+      for (int i = 0; i < connections; i++)
+      {
+        Connection connection = dataSource.getConnection();
+        openConnections.add(connection);
+        if (dataRepository != null) dataRepository.prepare(connection);
+      }
+    }
+    finally
+    {
+      for (Connection connection : openConnections) connection.close();
+    }
+  }
+
+  private void exercise(JdbcDataRepository dataRepository)
+  {
+    for (int i = 0; i < iterations; i++)
+    {
+      dataRepository.findAll(0, pageSize, emptySet(), ASCENDING);
+      dataRepository.findFirst(pageSize).forEach(dataRepository::find);
+    }
+  }
+}
@@ -0,0 +1,250 @@
+package com.tn.service.data.jdbc.web;
+
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import com.google.common.io.CountingOutputStream;
+
+class CompressingResponseWrapper extends HttpServletResponseWrapper
+{
+  private final ContentEncoding contentEncoding;
+  private final int level;
+  private final int threshold;
+  private final CompressionMetrics compressionMetrics;
+
+  private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+  private OutputStream compressor;
+  private CountingOutputStream compressed;
+  private boolean passThrough;
+  private long uncompressedBytes;
+  private long nanos;
+  private ServletOutputStream outputStream;
+  private PrintWriter writer;
+
+  CompressingResponseWrapper(
+    HttpServletResponse response,
+    ContentEncoding contentEncoding,
+    int level,
+    int threshold,
+    CompressionMetrics compressionMetrics
+  )
+  {
+    super(response);
+
+    this.contentEncoding = contentEncoding;
+    this.level = level;
+    this.threshold = threshold;
+    this.compressionMetrics = compressionMetrics;
+  }
+
+  @Override
+  public ServletOutputStream getOutputStream()
+  {
+    if (outputStream == null) outputStream = new CompressingOutputStream();
+    return outputStream;
+  }
+
+  @Override
+  public PrintWriter getWriter() throws IOException
+  {
+    if (writer == null) writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+    return writer;
+  }
+
+  @Override
+  public void setContentLength(int length)
+  {
+    setContentLengthLong(length);
+  }
+
+  @Override
+  public void setContentLengthLong(long length)
+  {
+    if (length >= 0 && length < threshold && buffer != null && buffer.size() == 0)
+    {
+      passThrough = true;
+      buffer = null;
+    }
+
+    if (passThrough) super.setContentLengthLong(length);
+  }
+
+  @Override
+  public void setHeader(String name, String value)
+  {
+    if (CONTENT_LENGTH.equalsIgnoreCase(name)) setContentLengthLong(Long.parseLong(value));
+    else super.setHeader(name, value);
+  }
+
+  @Override
+  public void addHeader(String name, String value)
+  {
+    if (CONTENT_LENGTH.equalsIgnoreCase(name)) setContentLengthLong(Long.parseLong(value));
+    else super.addHeader(name, value);
+  }
+
+  @Override
+  public void setIntHeader(String name, int value)
+  {
+    if (CONTENT_LENGTH.equalsIgnoreCase(name)) setContentLengthLong(value);
+    else super.setIntHeader(name, value);
+  }
+
+  @Override
+  public void addIntHeader(String name, int value)
+  {
+    if (CONTENT_LENGTH.equalsIgnoreCase(name)) setContentLengthLong(value);
+    else super.addIntHeader(name, value);
+  }
+
+  @Override
+  public void flushBuffer() throws IOException
+  {
+    if (writer != null) writer.flush();
+    if (buffer == null) super.flushBuffer();
+  }
+
+  @Override
+  public void resetBuffer()
+  {
+    super.resetBuffer();
+    if (buffer != null) buffer.reset();
+  }
+
+  @Override
+  public void reset()
+  {
+    super.reset();
+    if (buffer != null) buffer.reset();
+  }
+
+  void finish() throws IOException
+  {
+    if (writer != null) writer.flush();
+
+    if (compressor != null)
+    {
+      long start = System.nanoTime();
+      compressor.close();
+      nanos += System.nanoTime() - start;
+
+      compressionMetrics.record(contentEncoding, uncompressedBytes, compressed.getCount(), nanos);
+    }
+    else if (buffer != null && buffer.size() > 0)
+    {
+      if (!isCommitted()) super.setContentLengthLong(buffer.size());
+      passThrough();
+    }
+  }
+
+  private void write(byte[] bytes, int offset, int length) throws IOException
+  {
+    if (passThrough)
+    {
+      super.getOutputStream().write(bytes, offset, length);
+    }
+    else if (compressor != null)
+    {
+      long start = System.nanoTime();
+      compressor.write(bytes, offset, length);
+      nanos += System.nanoTime() - start;
+      uncompressedBytes += length;
+    }
+    else
+    {
+      buffer.write(bytes, offset, length);
+      if (buffer.size() >= threshold) compress();
+    }
+  }
+
+  private void compress() throws IOException
+  {
+    if (getHeader(CONTENT_ENCODING) != null)
+    {
+      passThrough();
+      return;
+    }
+
+    super.setHeader(CONTENT_ENCODING, contentEncoding.token());
+    super.setContentLengthLong(-1);
+
+    compressed = new CountingOutputStream(super.getOutputStream());
+    compressor = contentEncoding.compress(compressed, level);
+
+    byte[] bytes = buffer.toByteArray();
+    buffer = null;
+    write(bytes, 0, bytes.length);
+  }
+
+  private void passThrough() throws IOException
+  {
+    passThrough = true;
+
+    if (buffer != null && buffer.size() > 0) super.getOutputStream().write(buffer.toByteArray());
+    buffer = null;
+  }
+
+  private class CompressingOutputStream extends ServletOutputStream
+  {
+    @Override
+    public boolean isReady()
+    {
+      try
+      {
+        return !passThrough || CompressingResponseWrapper.super.getOutputStream().isReady();
+      }
+      catch (IOException e)
+      {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener)
+    {
+      if (compressor != null) throw new IllegalStateException("Response is already being compressed");
+
+      try
+      {
+        // a compressor would block the non-blocking writer, so the response is written uncompressed
+        passThrough();
+        CompressingResponseWrapper.super.getOutputStream().setWriteListener(writeListener);
+      }
+      catch (IOException e)
+      {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void write(int b) throws IOException
+    {
+      write(new byte[] {(byte)b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException
+    {
+      CompressingResponseWrapper.this.write(bytes, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+      if (passThrough) CompressingResponseWrapper.super.getOutputStream().flush();
+      else if (compressor != null) compressor.flush();
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package com.tn.service.data.jdbc.web;
+
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.VARY;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.github.luben.zstd.util.Native;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+public class CompressionFilter extends OncePerRequestFilter
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger(CompressionFilter.class);
+
+  private static final String ATTRIBUTE_RESPONSE = CompressionFilter.class.getName() + ".response";
+  private static final String PARAMETER_QUALITY = "q=";
+  private static final String WILDCARD = "*";
+
+  private final int threshold;
+  private final int gzipLevel;
+  private final int zstdLevel;
+  private final CompressionMetrics compressionMetrics;
+  private final Set<ContentEncoding> contentEncodings;
+
+  public CompressionFilter(int threshold, int gzipLevel, int zstdLevel, MeterRegistry meterRegistry)
+  {
+    this.threshold = threshold;
+    this.gzipLevel = gzipLevel;
+    this.zstdLevel = zstdLevel;
+    this.compressionMetrics = new CompressionMetrics(meterRegistry);
+    this.contentEncodings = contentEncodings();
+  }
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch()
+  {
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(
+    @Nonnull HttpServletRequest request,
+    @Nonnull HttpServletResponse response,
+    @Nonnull FilterChain filterChain
+  ) throws ServletException, IOException
+  {
+    CompressingResponseWrapper compressingResponse = (CompressingResponseWrapper)request.getAttribute(ATTRIBUTE_RESPONSE);
+    if (compressingResponse == null)
+    {
+      response.addHeader(VARY, ACCEPT_ENCODING);
+
+      ContentEncoding contentEncoding = contentEncoding(request.getHeader(ACCEPT_ENCODING));
+      if (contentEncoding == null)
+      {
+        filterChain.doFilter(request, response);
+        return;
+      }
+
+      compressingResponse = new CompressingResponseWrapper(response, contentEncoding, level(contentEncoding), threshold, compressionMetrics);
+      request.setAttribute(ATTRIBUTE_RESPONSE, compressingResponse);
+    }
+
+    filterChain.doFilter(request, compressingResponse);
+
+    // streaming bodies are written asynchronously and finished when the result is dispatched back
+    if (!request.isAsyncStarted()) compressingResponse.finish();
+  }
+
+  private ContentEncoding contentEncoding(String acceptEncoding)
+  {
+    if (acceptEncoding == null) return null;
+
+    Map<String, Double> qualities = new HashMap<>();
+    for (String coding : acceptEncoding.split(","))
+    {
+      String[] parts = coding.split(";");
+      qualities.putIfAbsent(parts[0].trim().toLowerCase(), quality(parts));
+    }
+
+    ContentEncoding preferred = null;
+    double preferredQuality = 0;
+
+    for (ContentEncoding contentEncoding : contentEncodings)
+    {
+      // the wildcard only stands for codings not listed, so an explicit q=0 still excludes one
+      Double quality = qualities.getOrDefault(contentEncoding.token(), qualities.get(WILDCARD));
+
+      // ties go to the encoding declared first in ContentEncoding
+      if (quality != null && quality > preferredQuality)
+      {
+        preferred = contentEncoding;
+        preferredQuality = quality;
+      }
+    }
+
+    return preferred;
+  }
+
+  private double quality(String[] parts)
+  {
+    for (int i = 1; i < parts.length; i++)
+    {
+      String parameter = parts[i].trim();
+      if (!parameter.startsWith(PARAMETER_QUALITY)) continue;
+
+      try
+      {
+        return Double.parseDouble(parameter.substring(PARAMETER_QUALITY.length()));
+      }
+      catch (NumberFormatException e)
+      {
+        return 0;
+      }
+    }
+
+    return 1;
+  }
+
+  private int level(ContentEncoding contentEncoding)
+  {
+    return contentEncoding == ContentEncoding.ZSTD ? zstdLevel : gzipLevel;
+  }
+
+  private static Set<ContentEncoding> contentEncodings()
+  {
+    try
+    {
+      Native.load();
+      return EnumSet.allOf(ContentEncoding.class);
+    }
+    catch (LinkageError e)
+    {
+      LOGGER.warn("Zstandard is not available on this platform, only gzip will be used", e);
+      return EnumSet.of(ContentEncoding.GZIP);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.tn.service.data.jdbc.web;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+class CompressionMetrics
+{
+  private static final String METRIC_RATIO = "tn.data.compression.ratio";
+  private static final String METRIC_TIME = "tn.data.compression.time";
+  private static final String TAG_ENCODING = "encoding";
+
+  private final MeterRegistry meterRegistry;
+
+  CompressionMetrics(MeterRegistry meterRegistry)
+  {
+    this.meterRegistry = meterRegistry;
+  }
+
+  void record(ContentEncoding contentEncoding, long uncompressedBytes, long compressedBytes, long nanos)
+  {
+    Timer.builder(METRIC_TIME)
+      .description("Time spent compressing and writing response bodies")
+      .tag(TAG_ENCODING, contentEncoding.token())
+      .register(meterRegistry)
+      .record(nanos, TimeUnit.NANOSECONDS);
+
+    if (compressedBytes == 0) return;
+
+    DistributionSummary.builder(METRIC_RATIO)
+      .description("Uncompressed to compressed size of response bodies")
+      .tag(TAG_ENCODING, contentEncoding.token())
+      .register(meterRegistry)
+      .record((double)uncompressedBytes / compressedBytes);
+  }
+}
@@ -0,0 +1,49 @@
+package com.tn.service.data.jdbc.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+enum ContentEncoding
+{
+  ZSTD("zstd")
+  {
+    @Override
+    OutputStream compress(OutputStream outputStream, int level) throws IOException
+    {
+      return new ZstdOutputStream(outputStream, level);
+    }
+  },
+
+  GZIP("gzip")
+  {
+    @Override
+    OutputStream compress(OutputStream outputStream, int level) throws IOException
+    {
+      return new GZIPOutputStream(outputStream, BUFFER_SIZE)
+      {
+        {
+          def.setLevel(level);
+        }
+      };
+    }
+  };
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final String token;
+
+  ContentEncoding(String token)
+  {
+    this.token = token;
+  }
+
+  String token()
+  {
+    return token;
+  }
+
+  abstract OutputStream compress(OutputStream outputStream, int level) throws IOException;
+}
@@ -0,0 +1,38 @@
+package com.tn.service.data.jdbc.web;
+
+import java.util.function.Function;
+
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.tn.service.data.jdbc.repository.TableVersion;
+
+public class TableVersionInterceptor implements HandlerInterceptor
+{
+  // weak, as the same version is served in each of the negotiated content types and encodings
+  private static final String ETAG = "W/\"%s\"";
+
+  private final Function<HttpServletRequest, TableVersion> tableVersion;
+
+  public TableVersionInterceptor(Function<HttpServletRequest, TableVersion> tableVersion)
+  {
+    this.tableVersion = tableVersion;
+  }
+
+  @Override
+  public boolean preHandle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler)
+  {
+    if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) return true;
+
+    TableVersion tableVersion = this.tableVersion.apply(request);
+    if (tableVersion == null) return true;
+
+    // the version is read before the query runs, so it can only ever understate the freshness of the response
+    return !new ServletWebRequest(request, response).checkNotModified(ETAG.formatted(tableVersion.get()));
+  }
+}
@@ -0,0 +1,80 @@
+package com.tn.service.data.jdbc.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class ParserConfigurationTest
+{
+  private static final MediaType MEDIA_TYPE_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+  private final List<HttpMessageConverter<?>> converters = converters();
+
+  @Test
+  void shouldKeepJsonAsDefault()
+  {
+    assertEquals(3, converters.size());
+    assertInstanceOf(MappingJackson2HttpMessageConverter.class, converters.get(0));
+    assertInstanceOf(MappingJackson2SmileHttpMessageConverter.class, converters.get(1));
+    assertInstanceOf(MappingJackson2CborHttpMessageConverter.class, converters.get(2));
+  }
+
+  @Test
+  void shouldRoundTripSmile() throws IOException
+  {
+    assertRoundTrip(converters.get(1), MEDIA_TYPE_SMILE);
+  }
+
+  @Test
+  void shouldRoundTripCbor() throws IOException
+  {
+    assertRoundTrip(converters.get(2), MediaType.APPLICATION_CBOR);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void assertRoundTrip(HttpMessageConverter<?> converter, MediaType mediaType) throws IOException
+  {
+    ObjectNode object = new ObjectNode(null);
+    object.set("id", IntNode.valueOf(1));
+    object.set("name", TextNode.valueOf("T1"));
+
+    MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+    ((HttpMessageConverter<Object>)converter).write(object, mediaType, outputMessage);
+
+    byte[] body = outputMessage.getBodyAsBytes();
+    assertNotEquals('{', body[0]);
+
+    MockHttpInputMessage inputMessage = new MockHttpInputMessage(body);
+    inputMessage.getHeaders().setContentType(mediaType);
+
+    assertEquals(object, ((HttpMessageConverter<Object>)converter).read(ObjectNode.class, inputMessage));
+  }
+
+  private static List<HttpMessageConverter<?>> converters()
+  {
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    List<HttpMessageConverter<?>> converters = new ArrayList<>();
+    converters.add(new MappingJackson2HttpMessageConverter(objectMapper));
+    new ParserConfiguration().binaryCodecs(objectMapper).extendMessageConverters(converters);
+
+    return converters;
+  }
+}
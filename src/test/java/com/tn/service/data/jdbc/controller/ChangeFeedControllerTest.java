@@ -0,0 +1,166 @@
+package com.tn.service.data.jdbc.controller;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.tn.service.data.jdbc.domain.FieldType.LONG;
+import static com.tn.service.data.jdbc.domain.FieldType.TEXT;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.tn.service.IllegalParameterException;
+import com.tn.service.data.jdbc.domain.Column;
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.io.KeyFormat;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.jdbc.repository.TableVersion;
+
+class ChangeFeedControllerTest
+{
+  private static final String FIELD_CHANGES = "changes";
+  private static final String FIELD_CURSOR = "cursor";
+  private static final Field VERSION = LONG.field("version", new Column("VERSION", Types.BIGINT, false, false, false));
+  private static final Field ID = LONG.field("id", new Column("ID", Types.BIGINT, true, false, false));
+
+  private final JdbcDataRepository dataRepository = mock(JdbcDataRepository.class);
+  private final TableVersion tableVersion = new TableVersion();
+  private final ExecutorService queryExecutor = Executors.newSingleThreadExecutor();
+
+  @AfterEach
+  void shutdown()
+  {
+    queryExecutor.shutdownNow();
+  }
+
+  @Test
+  void shouldReadChangesFromCursor() throws Exception
+  {
+    ObjectNode row1 = row(1, 10);
+    ObjectNode row2 = row(2, 10);
+    ObjectNode row3 = row(1, 11);
+
+    when(dataRepository.findAfter(eq(VERSION.name()), isNull(), eq(2))).thenReturn(List.of(row1, row2));
+    when(dataRepository.findAfter(eq(VERSION.name()), any(ObjectNode.class), eq(2))).thenReturn(List.of(row3));
+
+    ChangeFeedController changeFeedController = changeFeedController(Duration.ofSeconds(20));
+
+    ObjectNode response1 = changeFeedController.changes(null, 2, 0).get(5, SECONDS);
+    assertEquals(new ArrayNode(null, List.of(row1, row2)), response1.get(FIELD_CHANGES));
+
+    ObjectNode response2 = changeFeedController.changes(response1.get(FIELD_CURSOR).asText(), 2, 0).get(5, SECONDS);
+    assertEquals(new ArrayNode(null, List.of(row3)), response2.get(FIELD_CHANGES));
+
+    ArgumentCaptor<ObjectNode> after = ArgumentCaptor.forClass(ObjectNode.class);
+    verify(dataRepository, times(2)).findAfter(eq(VERSION.name()), after.capture(), eq(2));
+    assertEquals(10, after.getAllValues().getLast().get(VERSION.name()).asLong());
+    assertEquals(2, after.getAllValues().getLast().get(ID.name()).asLong());
+  }
+
+  @Test
+  void shouldKeepCursorWithoutChanges() throws Exception
+  {
+    when(dataRepository.findAfter(eq(VERSION.name()), isNull(), eq(2))).thenReturn(List.of(row(1, 10)));
+    when(dataRepository.findAfter(eq(VERSION.name()), any(ObjectNode.class), eq(2))).thenReturn(List.of());
+
+    ChangeFeedController changeFeedController = changeFeedController(Duration.ofSeconds(20));
+
+    String cursor = changeFeedController.changes(null, 2, 0).get(5, SECONDS).get(FIELD_CURSOR).asText();
+    ObjectNode response = changeFeedController.changes(cursor, 2, 0).get(5, SECONDS);
+
+    assertTrue(response.get(FIELD_CHANGES).isEmpty());
+    assertEquals(cursor, response.get(FIELD_CURSOR).asText());
+  }
+
+  @Test
+  void shouldWaitForChange() throws Exception
+  {
+    ObjectNode row = row(1, 10);
+
+    when(dataRepository.findAfter(eq(VERSION.name()), isNull(), eq(2))).thenReturn(List.of(), List.of(row));
+
+    CompletableFuture<ObjectNode> response = changeFeedController(Duration.ofSeconds(20)).changes(null, 2, 20);
+    assertFalse(response.isDone());
+
+    tableVersion.increment();
+
+    assertEquals(new ArrayNode(null, List.of(row)), response.get(5, SECONDS).get(FIELD_CHANGES));
+  }
+
+  @Test
+  void shouldStopWaitingAtMaxWait() throws Exception
+  {
+    when(dataRepository.findAfter(eq(VERSION.name()), isNull(), eq(2))).thenReturn(List.of());
+
+    ObjectNode response = changeFeedController(Duration.ofMillis(100)).changes(null, 2, 20).get(5, SECONDS);
+
+    assertTrue(response.get(FIELD_CHANGES).isEmpty());
+    assertNull(response.get(FIELD_CURSOR).textValue());
+  }
+
+  @Test
+  void shouldNotReadWithInvalidLimit()
+  {
+    assertThrows(IllegalParameterException.class, () -> changeFeedController(Duration.ofSeconds(20)).changes(null, 0, 0));
+  }
+
+  @Test
+  void shouldStartWithSupportedChangeField()
+  {
+    changeFeedController(Duration.ofSeconds(20)).run(null);
+  }
+
+  @Test
+  void shouldNotStartWithUnsupportedChangeField()
+  {
+    ChangeFeedController changeFeedController = changeFeedController(Duration.ofSeconds(20));
+    when(dataRepository.keysetFields(VERSION.name())).thenReturn(List.of(TEXT.field("version", null), ID));
+
+    assertThrows(IllegalStateException.class, () -> changeFeedController.run(null));
+  }
+
+  private ChangeFeedController changeFeedController(Duration maxWait)
+  {
+    when(dataRepository.keysetFields(VERSION.name())).thenReturn(List.of(VERSION, ID));
+
+    @SuppressWarnings("unchecked")
+    ObjectProvider<JdbcDataRepository> dataRepositoryProvider = mock(ObjectProvider.class);
+    when(dataRepositoryProvider.getObject()).thenReturn(dataRepository);
+
+    return new ChangeFeedController(dataRepositoryProvider, tableVersion, queryExecutor, new ObjectMapper(), VERSION.name(), maxWait, KeyFormat.JSON);
+  }
+
+  private static ObjectNode row(long id, long version)
+  {
+    ObjectNode row = new ObjectNode(null);
+    row.set(ID.name(), LongNode.valueOf(id));
+    row.set(VERSION.name(), LongNode.valueOf(version));
+
+    return row;
+  }
+}
@@ -0,0 +1,55 @@
+package com.tn.service.data.jdbc.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tn.service.data.jdbc.repository.StaleObjectException;
+
+class StaleObjectAdviceTest
+{
+  private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StaleController())
+    .setControllerAdvice(new StaleObjectAdvice(new ObjectMapper()))
+    .build();
+
+  @Test
+  void shouldRespondConflictWithStaleObjects() throws Exception
+  {
+    mockMvc.perform(put("/stale"))
+      .andExpect(status().isConflict())
+      .andExpect(jsonPath("$.message").value("Stale or missing objects"))
+      .andExpect(jsonPath("$.stale.length()").value(2))
+      .andExpect(jsonPath("$.stale[0].id").value(1))
+      .andExpect(jsonPath("$.stale[1].version").value(3));
+  }
+
+  @RestController
+  static class StaleController
+  {
+    @PutMapping("/stale")
+    ObjectNode update()
+    {
+      throw new StaleObjectException(List.of(object(1, 2), object(2, 3)));
+    }
+
+    private static ObjectNode object(long id, long version)
+    {
+      ObjectNode object = new ObjectNode(null);
+      object.set("id", LongNode.valueOf(id));
+      object.set("version", LongNode.valueOf(version));
+
+      return object;
+    }
+  }
+}
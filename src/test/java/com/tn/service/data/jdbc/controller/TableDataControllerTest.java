@@ -0,0 +1,75 @@
+package com.tn.service.data.jdbc.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.tn.service.data.jdbc.domain.Table;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.jdbc.repository.JdbcDataRepositoryRegistry;
+
+class TableDataControllerTest
+{
+  private static final Table TABLE = new Table("PUBLIC", "TEST");
+
+  private final JdbcDataRepositoryRegistry dataRepositoryRegistry = mock(JdbcDataRepositoryRegistry.class);
+  private final JdbcDataRepository dataRepository = mock(JdbcDataRepository.class);
+
+  // as the bounded JDBC executor does once its queue is full
+  private final Executor saturatedExecutor = command ->
+  {
+    throw new RejectedExecutionException("Queue full");
+  };
+
+  @SuppressWarnings("unchecked")
+  private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+    new TableDataController(dataRepositoryRegistry, saturatedExecutor, new ObjectMapper(), mock(ObjectProvider.class), 10)
+  )
+    .setControllerAdvice(new RejectedExecutionAdvice(new ObjectMapper()))
+    .build();
+
+  @BeforeEach
+  void setUp()
+  {
+    when(dataRepositoryRegistry.find(TABLE)).thenReturn(Optional.of(dataRepository));
+  }
+
+  @Test
+  void shouldBeUnavailableWhenReadRejected() throws Exception
+  {
+    mockMvc.perform(get("/tables/PUBLIC/TEST"))
+      .andExpect(status().isServiceUnavailable())
+      .andExpect(jsonPath("$.message").value("Too many concurrent requests"));
+
+    verify(dataRepository, never()).findAll(any(), any());
+  }
+
+  @Test
+  void shouldBeUnavailableWhenWriteRejected() throws Exception
+  {
+    mockMvc.perform(post("/tables/PUBLIC/TEST").contentType(APPLICATION_JSON).content("{\"id\":1}"))
+      .andExpect(status().isServiceUnavailable())
+      .andExpect(jsonPath("$.message").value("Too many concurrent requests"));
+
+    verify(dataRepository, never()).insert(any(ObjectNode.class));
+  }
+}
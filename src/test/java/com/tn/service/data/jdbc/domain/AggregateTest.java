@@ -0,0 +1,36 @@
+package com.tn.service.data.jdbc.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class AggregateTest
+{
+  @Test
+  void shouldParse()
+  {
+    assertEquals(new Aggregate(Aggregate.Function.SUM, "price"), Aggregate.parse("sum(price)"));
+    assertEquals(new Aggregate(Aggregate.Function.COUNT, null), Aggregate.parse(" COUNT( * ) "));
+    assertEquals("avg(price)", Aggregate.parse("Avg(price)").toString());
+  }
+
+  @Test
+  void shouldNotParseInvalid()
+  {
+    assertThrows(IllegalArgumentException.class, () -> Aggregate.parse("median(price)"));
+    assertThrows(IllegalArgumentException.class, () -> Aggregate.parse("sum(*)"));
+    assertThrows(IllegalArgumentException.class, () -> Aggregate.parse("sum(price); DROP TABLE X"));
+  }
+
+  @Test
+  void shouldAcceptFieldTypes()
+  {
+    assertTrue(Aggregate.Function.SUM.accepts(FieldType.DECIMAL));
+    assertFalse(Aggregate.Function.AVG.accepts(FieldType.TEXT));
+    assertTrue(Aggregate.Function.MAX.accepts(FieldType.TIMESTAMP));
+    assertTrue(Aggregate.Function.COUNT.accepts(FieldType.BOOLEAN));
+  }
+}
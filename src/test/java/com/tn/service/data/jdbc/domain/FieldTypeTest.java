@@ -0,0 +1,96 @@
+package com.tn.service.data.jdbc.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.time.LocalTime;
+
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.FloatNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.Test;
+
+class FieldTypeTest
+{
+  private static final String COLUMN = "COLUMN";
+
+  @Test
+  void shouldGetPrimitivesAsJsonType() throws Exception
+  {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.getBoolean(COLUMN)).thenReturn(true);
+    when(resultSet.getInt(COLUMN)).thenReturn(12);
+    when(resultSet.getLong(COLUMN)).thenReturn(13L);
+    when(resultSet.getFloat(COLUMN)).thenReturn(1.23F);
+    when(resultSet.getDouble(COLUMN)).thenReturn(2.34);
+
+    assertEquals(BooleanNode.TRUE, FieldType.BOOLEAN.getAsJsonType(resultSet, COLUMN));
+    assertEquals(IntNode.valueOf(12), FieldType.INTEGER.getAsJsonType(resultSet, COLUMN));
+    assertEquals(LongNode.valueOf(13L), FieldType.LONG.getAsJsonType(resultSet, COLUMN));
+    assertEquals(FloatNode.valueOf(1.23F), FieldType.FLOAT.getAsJsonType(resultSet, COLUMN));
+    assertEquals(DoubleNode.valueOf(2.34), FieldType.DOUBLE.getAsJsonType(resultSet, COLUMN));
+  }
+
+  @Test
+  void shouldGetNullAsJsonType() throws Exception
+  {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.wasNull()).thenReturn(true);
+
+    assertNull(FieldType.INTEGER.getAsJsonType(resultSet, COLUMN));
+    assertNull(FieldType.TEXT.getAsJsonType(resultSet, COLUMN));
+  }
+
+  @Test
+  void shouldSetAsJsonType() throws Exception
+  {
+    PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+    FieldType.BOOLEAN.setAsJsonType(preparedStatement, 1, BooleanNode.TRUE);
+    FieldType.INTEGER.setAsJsonType(preparedStatement, 2, IntNode.valueOf(12));
+    FieldType.LONG.setAsJsonType(preparedStatement, 3, LongNode.valueOf(13L));
+    FieldType.FLOAT.setAsJsonType(preparedStatement, 4, FloatNode.valueOf(1.23F));
+    FieldType.DOUBLE.setAsJsonType(preparedStatement, 5, DoubleNode.valueOf(2.34));
+    FieldType.DECIMAL.setAsJsonType(preparedStatement, 6, DecimalNode.valueOf(BigDecimal.ONE));
+    FieldType.TEXT.setAsJsonType(preparedStatement, 7, TextNode.valueOf("ABC"));
+
+    verify(preparedStatement).setBoolean(1, true);
+    verify(preparedStatement).setInt(2, 12);
+    verify(preparedStatement).setLong(3, 13L);
+    verify(preparedStatement).setFloat(4, 1.23F);
+    verify(preparedStatement).setDouble(5, 2.34);
+    verify(preparedStatement).setBigDecimal(6, BigDecimal.ONE);
+    verify(preparedStatement).setString(7, "ABC");
+  }
+
+  @Test
+  void shouldNotSetWrongJsonType()
+  {
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> FieldType.INTEGER.setAsJsonType(mock(PreparedStatement.class), 1, TextNode.valueOf("ABC"))
+    );
+  }
+
+  @Test
+  void shouldKeepMillisecondsOfTime()
+  {
+    Time time = FieldType.TIME.asJavaType(TextNode.valueOf("12:34:56.789"));
+
+    assertEquals(LocalTime.of(12, 34, 56, 789_000_000), FieldType.localTime(time));
+    assertEquals(TextNode.valueOf("12:34:56.789"), FieldType.TIME.asJsonType(time));
+    assertEquals(TextNode.valueOf("12:34:56"), FieldType.TIME.asJsonType(Time.valueOf("12:34:56")));
+  }
+}
@@ -0,0 +1,52 @@
+package com.tn.service.data.jdbc.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.Test;
+
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.domain.FieldType;
+
+class ExportFormatTest
+{
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final List<Field> FIELDS = List.of(
+    FieldType.INTEGER.field("id", null),
+    FieldType.TEXT.field("name", null),
+    FieldType.DECIMAL.field("amount", null),
+    FieldType.TEXT.field("note", null)
+  );
+
+  @Test
+  void shouldWriteNdjson() throws Exception
+  {
+    assertEquals("", ExportFormat.NDJSON.header(FIELDS));
+    assertEquals("{\"id\":1,\"name\":\"a\"}\n", ExportFormat.NDJSON.line(OBJECT_MAPPER, FIELDS, object(1, "a", null)));
+  }
+
+  @Test
+  void shouldWriteCsv()
+  {
+    assertEquals("id,name,amount,note\n", ExportFormat.CSV.header(FIELDS));
+    assertEquals("1,a,,\n", ExportFormat.CSV.line(OBJECT_MAPPER, FIELDS, object(1, "a", null)));
+    assertEquals("2,\"b, \"\"c\"\"\",0.00000001,\n", ExportFormat.CSV.line(OBJECT_MAPPER, FIELDS, object(2, "b, \"c\"", new BigDecimal("1E-8"))));
+  }
+
+  private static ObjectNode object(int id, String name, BigDecimal amount)
+  {
+    ObjectNode object = new ObjectNode(null);
+    object.set("id", IntNode.valueOf(id));
+    object.set("name", TextNode.valueOf(name));
+    if (amount != null) object.set("amount", DecimalNode.valueOf(amount));
+
+    return object;
+  }
+}
@@ -0,0 +1,193 @@
+package com.tn.service.data.jdbc.export;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.domain.FieldType;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.jdbc.repository.JdbcDataRepository.KeyRange;
+import com.tn.service.data.repository.FindException;
+
+class TableExportTest
+{
+  private static final String FIELD_ID = "id";
+  private static final String FIELD_NAME = "name";
+  private static final List<Field> FIELDS = List.of(FieldType.LONG.field(FIELD_ID, null), FieldType.TEXT.field(FIELD_NAME, null));
+
+  private final JdbcDataRepository dataRepository = mock(JdbcDataRepository.class);
+  private final TableExport tableExport = new TableExport(() -> dataRepository, new ObjectMapper(), 2, 2);
+
+  @TempDir
+  Path directory;
+
+  @BeforeEach
+  void setUp()
+  {
+    when(dataRepository.fields()).thenReturn(FIELDS);
+    when(dataRepository.key(any())).thenAnswer(invocation -> key(((ObjectNode)invocation.getArgument(0)).get(FIELD_ID).longValue()));
+  }
+
+  @Test
+  void shouldStreamRangesInKeyOrder() throws Exception
+  {
+    when(dataRepository.hasNumericKey()).thenReturn(true);
+    when(dataRepository.numericKeyRange()).thenReturn(Optional.of(new KeyRange(1, 6, 6)));
+    scan(null);
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ExportProgress progress = new ExportProgress();
+    tableExport.write(outputStream, ExportFormat.NDJSON, progress);
+
+    assertEquals(lines(1, 6), outputStream.toString(UTF_8));
+    assertEquals(3, progress.getCompletedChunks());
+    assertEquals(6, progress.getRows());
+    assertEquals(ExportProgress.State.COMPLETE, progress.getState());
+  }
+
+  @Test
+  void shouldResumeRangesAfterFailure() throws Exception
+  {
+    when(dataRepository.hasNumericKey()).thenReturn(true);
+    when(dataRepository.numericKeyRange()).thenReturn(Optional.of(new KeyRange(1, 4, 4)));
+    scan(3L);
+
+    ExportProgress failed = new ExportProgress();
+    assertThrows(FindException.class, () -> tableExport.write(directory, ExportFormat.NDJSON, failed));
+
+    assertEquals(ExportProgress.State.FAILED, failed.getState());
+    assertTrue(Files.exists(directory.resolve("part-00000.done")));
+    assertFalse(Files.exists(directory.resolve("part-00001.done")));
+    assertFalse(Files.exists(directory.resolve("_SUCCESS")));
+
+    scan(null);
+
+    ExportProgress resumed = new ExportProgress();
+    tableExport.write(directory, ExportFormat.NDJSON, resumed);
+
+    // the completed range is not read again
+    verify(dataRepository, times(1)).scan(eq(1L), eq(2L), any());
+    verify(dataRepository, times(2)).scan(eq(3L), eq(4L), any());
+    assertEquals(lines(1, 4), parts(2));
+    assertTrue(Files.exists(directory.resolve("_SUCCESS")));
+    assertEquals(2, resumed.getCompletedChunks());
+    assertEquals(4, resumed.getRows());
+    assertEquals(ExportProgress.State.COMPLETE, resumed.getState());
+  }
+
+  @Test
+  void shouldResumeKeysetPagesAfterFailure() throws Exception
+  {
+    when(dataRepository.hasNumericKey()).thenReturn(false);
+    when(dataRepository.findAfter(isNull(), isNull(), eq(2))).thenReturn(List.of(object(1), object(2)));
+    when(dataRepository.findAfter(isNull(), eq(key(2)), eq(2))).thenThrow(new FindException("Read failed"));
+
+    ExportProgress failed = new ExportProgress();
+    assertThrows(FindException.class, () -> tableExport.write(directory, ExportFormat.NDJSON, failed));
+
+    assertTrue(Files.exists(directory.resolve("part-00000.done")));
+    assertFalse(Files.exists(directory.resolve("_SUCCESS")));
+
+    // stubbed without calling the failing stub
+    doReturn(List.of(object(3), object(4))).when(dataRepository).findAfter(isNull(), eq(key(2)), eq(2));
+    when(dataRepository.findAfter(isNull(), eq(key(4)), eq(2))).thenReturn(List.of(object(5)));
+
+    ExportProgress resumed = new ExportProgress();
+    tableExport.write(directory, ExportFormat.NDJSON, resumed);
+
+    // resumed after the last key of the completed part
+    verify(dataRepository, times(1)).findAfter(isNull(), isNull(), eq(2));
+    assertEquals(lines(1, 5), parts(3));
+    assertTrue(Files.exists(directory.resolve("_SUCCESS")));
+    assertEquals(3, resumed.getCompletedChunks());
+    assertEquals(5, resumed.getRows());
+  }
+
+  @Test
+  void shouldNotResumeInAnotherFormat() throws Exception
+  {
+    when(dataRepository.hasNumericKey()).thenReturn(true);
+    when(dataRepository.numericKeyRange()).thenReturn(Optional.of(new KeyRange(1, 4, 4)));
+    scan(3L);
+
+    assertThrows(FindException.class, () -> tableExport.write(directory, ExportFormat.NDJSON, new ExportProgress()));
+    assertThrows(IllegalStateException.class, () -> tableExport.write(directory, ExportFormat.CSV, new ExportProgress()));
+  }
+
+  private void scan(Long failingFrom)
+  {
+    doAnswer(
+      invocation ->
+      {
+        long from = invocation.getArgument(0);
+        long to = invocation.getArgument(1);
+        if (failingFrom != null && from == failingFrom) throw new FindException("Scan failed");
+
+        Consumer<ObjectNode> consumer = invocation.getArgument(2);
+        LongStream.rangeClosed(from, to).mapToObj(TableExportTest::object).forEach(consumer);
+        return null;
+      }
+    ).when(dataRepository).scan(anyLong(), anyLong(), any());
+  }
+
+  private String parts(int count) throws Exception
+  {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < count; i++) content.append(Files.readString(directory.resolve("part-%05d.ndjson".formatted(i)), UTF_8));
+
+    return content.toString();
+  }
+
+  private static String lines(long from, long to)
+  {
+    return LongStream.rangeClosed(from, to).mapToObj(id -> "{\"id\":" + id + ",\"name\":\"Row " + id + "\"}\n").collect(Collectors.joining());
+  }
+
+  private static ObjectNode object(long id)
+  {
+    ObjectNode object = key(id);
+    object.set(FIELD_NAME, TextNode.valueOf("Row " + id));
+
+    return object;
+  }
+
+  private static ObjectNode key(long id)
+  {
+    // as read back from a marker
+    ObjectNode key = new ObjectNode(null);
+    key.set(FIELD_ID, IntNode.valueOf((int)id));
+
+    return key;
+  }
+}
@@ -0,0 +1,117 @@
+package com.tn.service.data.jdbc.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.tn.service.data.jdbc.domain.Column;
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.jdbc.domain.FieldType;
+
+class ArrowResultSetExtractorTest
+{
+  private static final List<Field> FIELDS = List.of(
+    FieldType.INTEGER.field("id", new Column("ID", Types.INTEGER, true, false, false)),
+    FieldType.TEXT.field("name", new Column("NAME", Types.VARCHAR, false, true, false)),
+    FieldType.TIME.field("timeValue", new Column("TIME_VALUE", Types.TIME, false, true, false))
+  );
+  private static final LocalTime TIME = LocalTime.of(12, 34, 56, 789_000_000);
+
+  private final BufferAllocator allocator = new RootAllocator();
+
+  private Connection connection;
+
+  @BeforeEach
+  void setUp() throws Exception
+  {
+    connection = DriverManager.getConnection("jdbc:h2:mem:arrow");
+    try (Statement statement = connection.createStatement())
+    {
+      statement.execute("CREATE TABLE TEST (id INT NOT NULL PRIMARY KEY, name VARCHAR(10) NULL, time_value TIME(3) NULL)");
+      statement.execute("INSERT INTO TEST VALUES (1, 'T1', TIME '12:34:56.789'), (2, NULL, NULL), (3, 'T3', TIME '00:00:00.001')");
+    }
+  }
+
+  @AfterEach
+  void tearDown() throws Exception
+  {
+    connection.close();
+    allocator.close();
+  }
+
+  @Test
+  void shouldWriteRowsInBatches() throws Exception
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    assertEquals(3L, extract(outputStream));
+
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(outputStream.toByteArray()), allocator))
+    {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+
+      assertTrue(reader.loadNextBatch());
+      assertEquals(2, root.getRowCount());
+      assertEquals(1, ((IntVector)root.getVector("id")).get(0));
+      assertEquals("T1", new String(((VarCharVector)root.getVector("name")).get(0)));
+      assertTrue(root.getVector("name").isNull(1));
+      assertTrue(root.getVector("timeValue").isNull(1));
+
+      assertTrue(reader.loadNextBatch());
+      assertEquals(1, root.getRowCount());
+      assertEquals(3, ((IntVector)root.getVector("id")).get(0));
+
+      assertFalse(reader.loadNextBatch());
+    }
+  }
+
+  @Test
+  void shouldKeepFractionsOfSecondInTime() throws Exception
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    extract(outputStream);
+
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(outputStream.toByteArray()), allocator))
+    {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+
+      assertTrue(reader.loadNextBatch());
+      assertEquals(TIME.toNanoOfDay() / 1_000_000, ((TimeMilliVector)root.getVector("timeValue")).get(0));
+
+      assertTrue(reader.loadNextBatch());
+      assertEquals(1, ((TimeMilliVector)root.getVector("timeValue")).get(0));
+    }
+  }
+
+  private long extract(ByteArrayOutputStream outputStream) throws Exception
+  {
+    try (
+      Statement statement = connection.createStatement();
+      ResultSet resultSet = statement.executeQuery("SELECT id, name, time_value FROM TEST ORDER BY id")
+    )
+    {
+      return new ArrowResultSetExtractor(FIELDS, allocator, outputStream, 2).extractData(resultSet);
+    }
+  }
+}
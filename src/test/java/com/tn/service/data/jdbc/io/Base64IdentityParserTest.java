@@ -2,6 +2,7 @@ package com.tn.service.data.jdbc.io;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static com.tn.service.data.jdbc.domain.FieldType.BOOLEAN;
 import static com.tn.service.data.jdbc.domain.FieldType.DATE;
@@ -15,6 +16,7 @@ import static com.tn.service.data.jdbc.domain.FieldType.TIME;
 import static com.tn.service.data.jdbc.domain.FieldType.TIMESTAMP;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
@@ -25,11 +27,13 @@ import java.util.stream.Stream;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 import org.apache.commons.codec.binary.Base64;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import com.tn.service.IllegalParameterException;
 import com.tn.service.data.jdbc.domain.Field;
@@ -88,6 +92,81 @@ class Base64IdentityParserTest
     );
   }
 
+  @Test
+  void shouldParseBinaryKey()
+  {
+    ObjectNode key = key();
+    Base64IdentityParser parser = new Base64IdentityParser(ALL_FIELDS, OBJECT_MAPPER, KeyFormat.BINARY);
+
+    String binaryKey = parser.format(key);
+
+    assertTrue(binaryKey.chars().noneMatch(c -> c == '+' || c == '/' || c == '='));
+    assertEquals(key, parser.parse(binaryKey));
+    assertEquals(key, new Base64IdentityParser(ALL_FIELDS, OBJECT_MAPPER).parse(binaryKey));
+  }
+
+  @Test
+  void shouldKeepFractionOfTimeInBinaryKey()
+  {
+    ObjectNode key = new ObjectNode(null);
+    key.set(TIME_ID.name(), TextNode.valueOf("12:34:56.789"));
+    Base64IdentityParser parser = new Base64IdentityParser(List.of(TIME_ID), OBJECT_MAPPER, KeyFormat.BINARY);
+
+    assertEquals(key, parser.parse(parser.format(key)));
+  }
+
+  @Test
+  void shouldFormatJsonKey()
+  {
+    ObjectNode key = key();
+    Base64IdentityParser parser = new Base64IdentityParser(ALL_FIELDS, OBJECT_MAPPER);
+
+    assertEquals(key, parser.parse(parser.format(key)));
+  }
+
+  @Test
+  void shouldFormatSingleFieldKey()
+  {
+    ObjectNode key = key();
+
+    assertEquals("12", new Base64IdentityParser(List.of(INTEGER_ID), OBJECT_MAPPER, KeyFormat.BINARY).format(key));
+  }
+
+  @Test
+  void shouldThrowWhenBinaryKeyTruncated()
+  {
+    String binaryKey = new Base64IdentityParser(ALL_FIELDS, OBJECT_MAPPER, KeyFormat.BINARY).format(key());
+
+    assertThrows(
+      IllegalParameterException.class,
+      () -> new Base64IdentityParser(ALL_FIELDS, OBJECT_MAPPER).parse(binaryKey.substring(0, binaryKey.length() - 4))
+    );
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 3, 4})
+  void shouldThrowWhenBinaryDecimalKeyTruncated(int length)
+  {
+    // a declared length too short to hold the scale and an unscaled value
+    byte[] bytes = ByteBuffer.allocate(3 + length).put(BinaryKeyCodec.MARKER).put((byte)'N').put((byte)length).array();
+
+    assertThrows(
+      IllegalParameterException.class,
+      () -> new Base64IdentityParser(List.of(DECIMAL_ID), OBJECT_MAPPER).parse(Base64.encodeBase64URLSafeString(bytes))
+    );
+  }
+
+  @Test
+  void shouldThrowWhenBinaryKeyTypeMismatched()
+  {
+    String binaryKey = new Base64IdentityParser(List.of(INTEGER_ID, LONG_ID), OBJECT_MAPPER, KeyFormat.BINARY).format(key());
+
+    assertThrows(
+      IllegalParameterException.class,
+      () -> new Base64IdentityParser(List.of(LONG_ID, INTEGER_ID), OBJECT_MAPPER).parse(binaryKey)
+    );
+  }
+
   @ParameterizedTest
   @MethodSource("missingFields")
   void shouldThrowWhenKeyFieldMissing(Field missingField)
@@ -0,0 +1,115 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.tn.service.data.repository.UpdateException;
+
+class AsyncDataRepositoryTest
+{
+  private final JdbcDataRepository dataRepository = mock(JdbcDataRepository.class);
+  private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, SECONDS, new ArrayBlockingQueue<>(1));
+  private final AsyncDataRepository asyncDataRepository = new AsyncDataRepository(dataRepository, executor);
+
+  @AfterEach
+  void shutdown()
+  {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldFindOnExecutor() throws Exception
+  {
+    ObjectNode key = object(1);
+    AtomicReference<Thread> thread = new AtomicReference<>();
+    when(dataRepository.find(key)).thenAnswer(
+      invocation ->
+      {
+        thread.set(Thread.currentThread());
+        return Optional.of(key);
+      }
+    );
+
+    assertEquals(Optional.of(key), asyncDataRepository.find(key).get(5, SECONDS));
+    assertNotSame(Thread.currentThread(), thread.get());
+  }
+
+  @Test
+  void shouldUpdateAll() throws Exception
+  {
+    List<ObjectNode> objects = List.of(object(1), object(2));
+    when(dataRepository.updateAll(objects)).thenReturn(objects);
+
+    assertEquals(objects, asyncDataRepository.updateAll(objects).get(5, SECONDS));
+    verify(dataRepository).updateAll(objects);
+  }
+
+  @Test
+  void shouldCompleteExceptionallyWhenRepositoryFails()
+  {
+    ObjectNode object = object(1);
+    when(dataRepository.update(object)).thenThrow(new UpdateException("Update failed"));
+
+    CompletableFuture<ObjectNode> updated = asyncDataRepository.update(object);
+
+    ExecutionException e = assertThrows(ExecutionException.class, () -> updated.get(5, SECONDS));
+    assertInstanceOf(UpdateException.class, e.getCause());
+  }
+
+  @Test
+  void shouldRejectWhenExecutorSaturated() throws Exception
+  {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(dataRepository.findAll(List.of(), null)).thenAnswer(
+      invocation ->
+      {
+        blocked.countDown();
+        release.await();
+        return List.of();
+      }
+    );
+
+    // one running and one queued, so the next is rejected up front rather than queued behind the connection pool
+    CompletableFuture<?> running = asyncDataRepository.findAll(List.of(), null);
+    assertTrue(blocked.await(5, SECONDS));
+    CompletableFuture<?> queued = asyncDataRepository.findAll(List.of(), null);
+
+    assertThrows(RejectedExecutionException.class, () -> asyncDataRepository.find(object(1)));
+
+    release.countDown();
+    running.get(5, SECONDS);
+    queued.get(5, SECONDS);
+  }
+
+  private static ObjectNode object(long id)
+  {
+    ObjectNode object = new ObjectNode(null);
+    object.set("id", LongNode.valueOf(id));
+
+    return object;
+  }
+}
@@ -0,0 +1,166 @@
+package com.tn.service.data.jdbc.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class BatcherTest
+{
+  @Test
+  void shouldBatchConcurrentItems()
+  {
+    List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    try (
+      Batcher<Integer, Integer> batcher = new Batcher<>(
+        "test",
+        Duration.ofMillis(200),
+        4,
+        100,
+        1,
+        Duration.ofSeconds(10),
+        items ->
+        {
+          batchSizes.add(items.size());
+          return items.stream().map(item -> item * 10).toList();
+        },
+        null
+      )
+    )
+    {
+      List<CompletableFuture<Integer>> results = IntStream.range(0, 4)
+        .mapToObj(i -> CompletableFuture.supplyAsync(() -> batcher.submit(i)))
+        .toList();
+
+      assertEquals(List.of(0, 10, 20, 30), results.stream().map(CompletableFuture::join).toList());
+      assertEquals(List.of(4), batchSizes);
+    }
+  }
+
+  @Test
+  void shouldRetrySinglyWhenBatchFails()
+  {
+    try (
+      Batcher<Integer, Integer> batcher = new Batcher<>(
+        "test",
+        Duration.ofMillis(200),
+        2,
+        100,
+        1,
+        Duration.ofSeconds(10),
+        items ->
+        {
+          throw new IllegalStateException("Batch failed");
+        },
+        item ->
+        {
+          if (item == 1) throw new IllegalArgumentException("Bad item");
+          return item * 10;
+        }
+      )
+    )
+    {
+      CompletableFuture<Integer> result0 = CompletableFuture.supplyAsync(() -> batcher.submit(0));
+      CompletableFuture<Integer> result1 = CompletableFuture.supplyAsync(() -> batcher.submit(1));
+
+      assertEquals(0, result0.join());
+      assertThrows(IllegalArgumentException.class, () -> unwrap(result1));
+    }
+  }
+
+  @Test
+  void shouldFailAllWithoutSingle()
+  {
+    try (Batcher<Integer, Integer> batcher = new Batcher<>("test", Duration.ZERO, 1, 100, 1, Duration.ofSeconds(10), items -> { throw new IllegalStateException(); }, null))
+    {
+      assertThrows(IllegalStateException.class, () -> batcher.submit(0));
+    }
+  }
+
+  @Test
+  void shouldRejectWhenFull() throws Exception
+  {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger flushes = new AtomicInteger();
+
+    try (Batcher<Integer, Integer> batcher = new Batcher<>("test", Duration.ZERO, 1, 1, 1, Duration.ofSeconds(10), blocking(flushes, release), null))
+    {
+      // one group held on the flush thread, and the next on the gathering thread, leave the queue to fill
+      CompletableFuture<Integer> result0 = CompletableFuture.supplyAsync(() -> batcher.submit(0));
+      CompletableFuture<Integer> result1 = CompletableFuture.supplyAsync(() -> batcher.submit(1));
+      while (flushes.get() < 2) Thread.onSpinWait();
+
+      CompletableFuture<Integer> result2 = new CompletableFuture<>();
+      Thread queued = Thread.ofPlatform().start(() -> result2.complete(batcher.submit(2)));
+      while (queued.getState() != Thread.State.TIMED_WAITING) Thread.onSpinWait();
+
+      assertThrows(RejectedExecutionException.class, () -> batcher.submit(3));
+
+      release.countDown();
+      assertEquals(List.of(0, 10, 20), List.of(result0.join(), result1.join(), result2.join()));
+    }
+  }
+
+  @Test
+  void shouldTimeOut()
+  {
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (Batcher<Integer, Integer> batcher = new Batcher<>("test", Duration.ZERO, 1, 1, 1, Duration.ofMillis(100), blocking(new AtomicInteger(), release), null))
+    {
+      assertThrows(IllegalStateException.class, () -> batcher.submit(0));
+      release.countDown();
+    }
+  }
+
+  @Test
+  void shouldRejectOnceClosed()
+  {
+    Batcher<Integer, Integer> batcher = new Batcher<>("test", Duration.ZERO, 1, 1, 1, Duration.ofSeconds(10), items -> items, null);
+    batcher.close();
+
+    assertThrows(RejectedExecutionException.class, () -> batcher.submit(0));
+  }
+
+  private static Function<List<Integer>, List<Integer>> blocking(AtomicInteger flushes, CountDownLatch release)
+  {
+    return items ->
+    {
+      flushes.incrementAndGet();
+
+      try
+      {
+        release.await();
+      }
+      catch (InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+      }
+
+      return items.stream().map(item -> item * 10).toList();
+    };
+  }
+
+  private static Integer unwrap(CompletableFuture<Integer> result)
+  {
+    try
+    {
+      return result.join();
+    }
+    catch (RuntimeException e)
+    {
+      throw (RuntimeException)e.getCause();
+    }
+  }
+}
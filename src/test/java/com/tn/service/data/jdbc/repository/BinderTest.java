@@ -0,0 +1,73 @@
+package com.tn.service.data.jdbc.repository;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import static com.tn.service.data.jdbc.domain.FieldType.TEXT;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.Test;
+
+import com.tn.query.jdbc.JdbcPredicate;
+import com.tn.service.data.jdbc.domain.Column;
+import com.tn.service.data.jdbc.domain.Field;
+
+class BinderTest
+{
+  private static final Field NAME = TEXT.field("name", new Column("NAME", Types.VARCHAR, false, true, false));
+
+  private final JdbcPredicate predicate = mock(JdbcPredicate.class);
+  private final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+  @Test
+  void shouldBindPredicateValuesAfterObject() throws Exception
+  {
+    // as a predicate binds its own parameters, numbered from one
+    doAnswer(
+      invocation ->
+      {
+        PreparedStatement statement = invocation.getArgument(0);
+        statement.setInt(1, 10);
+        statement.setString(2, "T3");
+        statement.setNull(3, Types.VARCHAR);
+        return null;
+      }
+    ).when(predicate).setValues(any());
+
+    ObjectNode patch = new ObjectNode(null);
+    patch.set("name", TextNode.valueOf("X"));
+
+    List<Binder.PredicateValue> predicateValues = Binder.values(predicate);
+    Binder.of(List.of(NAME)).bind(preparedStatement, patch, predicateValues);
+    Binder.of(List.of(NAME)).bind(preparedStatement, patch, predicateValues);
+
+    verify(predicate, times(1)).setValues(any());
+    verify(preparedStatement, times(2)).setString(1, "X");
+    verify(preparedStatement, times(2)).setInt(2, 10);
+    verify(preparedStatement, times(2)).setString(3, "T3");
+    verify(preparedStatement, times(2)).setNull(4, Types.VARCHAR);
+  }
+
+  @Test
+  void shouldOnlyCaptureParameterSetters() throws Exception
+  {
+    doAnswer(
+      invocation ->
+      {
+        ((PreparedStatement)invocation.getArgument(0)).clearParameters();
+        return null;
+      }
+    ).when(predicate).setValues(any());
+
+    assertThrows(UnsupportedOperationException.class, () -> Binder.values(predicate));
+  }
+}
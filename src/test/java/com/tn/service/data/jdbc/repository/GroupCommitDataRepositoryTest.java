@@ -0,0 +1,201 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.util.stream.Collectors.toSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tn.service.data.repository.InsertException;
+
+class GroupCommitDataRepositoryTest
+{
+  private static final String FIELD_ID = "id";
+  private static final String FIELD_NAME = "name";
+  private static final String FIELD_VERSION = "version";
+
+  private final JdbcDataRepository dataRepository = mock(JdbcDataRepository.class);
+  private final GroupCommitDataRepository groupCommitDataRepository = new GroupCommitDataRepository(
+    dataRepository,
+    Duration.ofMillis(500),
+    3,
+    100,
+    1,
+    Duration.ofSeconds(10)
+  );
+
+  @AfterEach
+  void tearDown()
+  {
+    groupCommitDataRepository.close();
+  }
+
+  @Test
+  void shouldInsertGroupAndGiveEachCallerItsGeneratedKey()
+  {
+    AtomicInteger generatedKey = new AtomicInteger(100);
+    when(dataRepository.insertAll(anyList())).thenAnswer(
+      invocation ->
+      {
+        List<ObjectNode> inserted = new ArrayList<>();
+        for (ObjectNode object : invocation.<List<ObjectNode>>getArgument(0))
+        {
+          ObjectNode insertedObject = object.deepCopy();
+          insertedObject.set(FIELD_ID, IntNode.valueOf(generatedKey.incrementAndGet()));
+          inserted.add(insertedObject);
+        }
+
+        return inserted;
+      }
+    );
+
+    List<ObjectNode> results = concurrently(
+      () -> groupCommitDataRepository.insert(object(null, "A")),
+      () -> groupCommitDataRepository.insert(object(null, "B")),
+      () -> groupCommitDataRepository.insert(object(null, "C"))
+    );
+
+    // each caller gets its own row back, with one of the keys generated for the group
+    verify(dataRepository, times(1)).insertAll(anyList());
+    verify(dataRepository, never()).insert(any());
+    assertEquals(List.of("A", "B", "C"), results.stream().map(result -> result.get(FIELD_NAME).textValue()).toList());
+    assertEquals(Set.of(101, 102, 103), results.stream().map(result -> result.get(FIELD_ID).intValue()).collect(toSet()));
+  }
+
+  @Test
+  void shouldUpdateGroupAndMatchResultsToCallersByKey()
+  {
+    when(dataRepository.key(any())).thenAnswer(invocation -> key(invocation.<ObjectNode>getArgument(0).get(FIELD_ID).intValue()));
+    when(dataRepository.updateAll(anyList())).thenAnswer(
+      invocation ->
+      {
+        // re-read in another order, with the version the database moved on
+        List<ObjectNode> updated = new ArrayList<>();
+        for (ObjectNode object : invocation.<List<ObjectNode>>getArgument(0))
+        {
+          ObjectNode updatedObject = object.deepCopy();
+          updatedObject.set(FIELD_VERSION, IntNode.valueOf(2));
+          updated.addFirst(updatedObject);
+        }
+
+        return updated;
+      }
+    );
+
+    List<ObjectNode> results = concurrently(
+      () -> groupCommitDataRepository.update(object(1, "A")),
+      () -> groupCommitDataRepository.update(object(2, "B")),
+      () -> groupCommitDataRepository.update(object(3, "C"))
+    );
+
+    verify(dataRepository, times(1)).updateAll(anyList());
+    assertEquals(List.of(updated(1, "A"), updated(2, "B"), updated(3, "C")), results);
+  }
+
+  @Test
+  void shouldInsertSinglyWhenGroupFails()
+  {
+    when(dataRepository.insertAll(anyList())).thenThrow(new InsertException("Duplicate key"));
+    when(dataRepository.insert(any())).thenAnswer(
+      invocation ->
+      {
+        ObjectNode object = invocation.getArgument(0);
+        if (object.get(FIELD_ID).intValue() == 2) throw new InsertException("Duplicate key");
+
+        return object;
+      }
+    );
+
+    List<CompletableFuture<ObjectNode>> results = List.of(
+      CompletableFuture.supplyAsync(() -> groupCommitDataRepository.insert(object(1, "A"))),
+      CompletableFuture.supplyAsync(() -> groupCommitDataRepository.insert(object(2, "B"))),
+      CompletableFuture.supplyAsync(() -> groupCommitDataRepository.insert(object(3, "C")))
+    );
+
+    // only the caller whose own row fails sees the failure
+    assertEquals(object(1, "A"), results.get(0).join());
+    assertInstanceOf(InsertException.class, assertThrows(CompletionException.class, () -> results.get(1).join()).getCause());
+    assertEquals(object(3, "C"), results.get(2).join());
+    verify(dataRepository, times(3)).insert(any());
+  }
+
+  @Test
+  void shouldNotGroupWritesInTransaction()
+  {
+    ObjectNode object = object(1, "A");
+    when(dataRepository.insert(object)).thenReturn(object);
+    when(dataRepository.update(object)).thenReturn(object);
+
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try
+    {
+      assertSame(object, groupCommitDataRepository.insert(object));
+      assertSame(object, groupCommitDataRepository.update(object));
+    }
+    finally
+    {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    verify(dataRepository, never()).insertAll(anyList());
+    verify(dataRepository, never()).updateAll(anyList());
+  }
+
+  @SafeVarargs
+  private static List<ObjectNode> concurrently(Supplier<ObjectNode>... writes)
+  {
+    List<CompletableFuture<ObjectNode>> results = new ArrayList<>();
+    for (Supplier<ObjectNode> write : writes) results.add(CompletableFuture.supplyAsync(write));
+
+    return results.stream().map(CompletableFuture::join).toList();
+  }
+
+  private static ObjectNode object(Integer id, String name)
+  {
+    ObjectNode object = new ObjectNode(null);
+    if (id != null) object.set(FIELD_ID, IntNode.valueOf(id));
+    object.set(FIELD_NAME, TextNode.valueOf(name));
+
+    return object;
+  }
+
+  private static ObjectNode updated(int id, String name)
+  {
+    ObjectNode object = object(id, name);
+    object.set(FIELD_VERSION, IntNode.valueOf(2));
+
+    return object;
+  }
+
+  private static ObjectNode key(int id)
+  {
+    ObjectNode key = new ObjectNode(null);
+    key.set(FIELD_ID, IntNode.valueOf(id));
+
+    return key;
+  }
+}
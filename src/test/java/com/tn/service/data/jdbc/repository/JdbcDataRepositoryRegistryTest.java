@@ -0,0 +1,130 @@
+package com.tn.service.data.jdbc.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.tn.service.data.jdbc.domain.FieldType.LONG;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.tn.service.data.jdbc.domain.Column;
+import com.tn.service.data.jdbc.domain.Table;
+import com.tn.service.data.repository.FindException;
+
+class JdbcDataRepositoryRegistryTest
+{
+  private static final Table TABLE = new Table("PUBLIC", "TEST");
+  private static final Table OTHER_TABLE = new Table("PUBLIC", "OTHER");
+
+  private final FieldRepository fieldRepository = mock(FieldRepository.class);
+
+  @Test
+  void shouldRequireAllowedTables()
+  {
+    assertThrows(IllegalArgumentException.class, () -> registry(Set.of(), Duration.ofMinutes(1)));
+  }
+
+  @Test
+  void shouldNotFindTableNotAllowed()
+  {
+    assertTrue(registry(Set.of(TABLE), Duration.ofMinutes(1)).find(OTHER_TABLE).isEmpty());
+    verify(fieldRepository, never()).findForTable(anyString(), anyString());
+  }
+
+  @Test
+  void shouldCreateDataRepositoryOnce()
+  {
+    when(fieldRepository.findForTable(TABLE.schema(), TABLE.name())).thenReturn(List.of(LONG.field("id", new Column("ID", Types.BIGINT, true, false, false))));
+
+    JdbcDataRepositoryRegistry registry = registry(Set.of(TABLE), Duration.ofMinutes(1));
+    JdbcDataRepository dataRepository = registry.find(TABLE).orElseThrow();
+
+    assertSame(dataRepository, registry.find(TABLE).orElseThrow());
+    assertEquals("id", dataRepository.fields().iterator().next().name());
+    verify(fieldRepository, times(1)).findForTable(TABLE.schema(), TABLE.name());
+  }
+
+  @Test
+  void shouldConfigureDataRepository()
+  {
+    when(fieldRepository.findForTable(TABLE.schema(), TABLE.name())).thenReturn(List.of(LONG.field("id", new Column("ID", Types.BIGINT, true, false, false))));
+
+    JdbcDataRepository dataRepository = registry(Set.of(TABLE), Duration.ofMinutes(1), repository -> repository.withDeltaTables(true))
+      .find(TABLE)
+      .orElseThrow();
+
+    assertTrue(dataRepository.hasDeltaTables());
+  }
+
+  @Test
+  void shouldRememberMissingTable()
+  {
+    when(fieldRepository.findForTable(TABLE.schema(), TABLE.name())).thenReturn(List.of());
+
+    JdbcDataRepositoryRegistry registry = registry(Set.of(TABLE), Duration.ofMinutes(1));
+
+    assertTrue(registry.find(TABLE).isEmpty());
+    assertTrue(registry.find(TABLE).isEmpty());
+    verify(fieldRepository, times(1)).findForTable(TABLE.schema(), TABLE.name());
+  }
+
+  @Test
+  void shouldLookForMissingTableAgainOnceExpired()
+  {
+    when(fieldRepository.findForTable(TABLE.schema(), TABLE.name())).thenReturn(List.of());
+
+    JdbcDataRepositoryRegistry registry = registry(Set.of(TABLE), Duration.ZERO);
+
+    assertTrue(registry.find(TABLE).isEmpty());
+    assertTrue(registry.find(TABLE).isEmpty());
+    verify(fieldRepository, times(2)).findForTable(TABLE.schema(), TABLE.name());
+  }
+
+  @Test
+  void shouldNotCacheFailure()
+  {
+    when(fieldRepository.findForTable(TABLE.schema(), TABLE.name()))
+      .thenThrow(new FindException("Metadata unavailable"))
+      .thenReturn(List.of(LONG.field("id", new Column("ID", Types.BIGINT, true, false, false))));
+
+    JdbcDataRepositoryRegistry registry = registry(Set.of(TABLE), Duration.ofMinutes(1));
+
+    assertThrows(FindException.class, () -> registry.find(TABLE));
+    assertTrue(registry.find(TABLE).isPresent());
+  }
+
+  private JdbcDataRepositoryRegistry registry(Set<Table> tables, Duration unknownTableExpiry)
+  {
+    return registry(tables, unknownTableExpiry, UnaryOperator.identity());
+  }
+
+  private JdbcDataRepositoryRegistry registry(Set<Table> tables, Duration unknownTableExpiry, UnaryOperator<JdbcDataRepository> configuration)
+  {
+    return new JdbcDataRepositoryRegistry(
+      mock(ExecutorService.class),
+      mock(JdbcTemplate.class),
+      fieldRepository,
+      mock(PlatformTransactionManager.class),
+      configuration,
+      tables,
+      unknownTableExpiry
+    );
+  }
+}
@@ -0,0 +1,279 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.sql.Statement.SUCCESS_NO_INFO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.tn.service.data.jdbc.domain.FieldType.INTEGER;
+import static com.tn.service.data.jdbc.domain.FieldType.LONG;
+import static com.tn.service.data.jdbc.domain.FieldType.TEXT;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.tn.service.data.jdbc.domain.Column;
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.repository.UpdateException;
+
+class JdbcDataRepositoryTest
+{
+  private static final String FIELD_ID = "id";
+  private static final String FIELD_NAME = "name";
+  private static final String FIELD_VERSION = "version";
+  private static final Field ID = LONG.field(FIELD_ID, new Column("ID", Types.BIGINT, true, false, false));
+  private static final Field NAME = TEXT.field(FIELD_NAME, new Column("NAME", Types.VARCHAR, false, true, false));
+  private static final Field VERSION = LONG.field(FIELD_VERSION, new Column("VERSION", Types.BIGINT, false, false, false));
+
+  private final ExecutorService queryExecutor = Executors.newSingleThreadExecutor();
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final JdbcDataRepository dataRepository = new JdbcDataRepository(
+    queryExecutor,
+    jdbcTemplate,
+    "PUBLIC",
+    "TEST",
+    List.of(ID, NAME, VERSION),
+    null
+  );
+
+  @AfterEach
+  void shutdown()
+  {
+    queryExecutor.shutdownNow();
+  }
+
+  @Test
+  void shouldReportStaleUpdate()
+  {
+    dataRepository.withVersionField(FIELD_VERSION);
+    when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenReturn(0);
+
+    ObjectNode object = object(1, "A", 1);
+    StaleObjectException e = assertThrows(StaleObjectException.class, () -> dataRepository.update(object));
+
+    assertEquals(List.of(object), e.getStaleObjects());
+  }
+
+  @Test
+  void shouldRequireVersionToUpdate()
+  {
+    dataRepository.withVersionField(FIELD_VERSION);
+
+    ObjectNode object = new ObjectNode(null);
+    object.set(FIELD_ID, LongNode.valueOf(1));
+    object.set(FIELD_NAME, TextNode.valueOf("A"));
+
+    assertThrows(UpdateException.class, () -> dataRepository.update(object));
+    verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+  }
+
+  @Test
+  void shouldReportEachStaleObjectOfBatch()
+  {
+    dataRepository.withVersionField(FIELD_VERSION);
+    when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenReturn(new int[] {1, 0, 1, 0});
+
+    List<ObjectNode> objects = List.of(object(1, "A", 1), object(2, "B", 1), object(3, "C", 1), object(4, "D", 1));
+    StaleObjectException e = assertThrows(StaleObjectException.class, () -> dataRepository.updateAll(objects));
+
+    assertEquals(List.of(objects.get(1), objects.get(3)), e.getStaleObjects());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldTakeSuccessNoInfoAsUpdated()
+  {
+    dataRepository.withVersionField(FIELD_VERSION);
+    when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenReturn(new int[] {SUCCESS_NO_INFO, SUCCESS_NO_INFO});
+
+    List<ObjectNode> updated = List.of(object(1, "A", 2), object(2, "B", 2));
+    when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class))).thenReturn(updated);
+
+    assertEquals(updated, dataRepository.updateAll(List.of(object(1, "A", 1), object(2, "B", 1))));
+  }
+
+  @Test
+  void shouldNotReportUnmatchedUpdateWithoutVersion()
+  {
+    when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenReturn(new int[] {0});
+
+    // without a version field an update count of zero is a missing row, which updateAll does not report
+    assertEquals(List.of(), List.copyOf(dataRepository.updateAll(List.of(object(1, "A", 1)))));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldFindByLongKey() throws Exception
+  {
+    ObjectNode object = object(1, "A", 1);
+    when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class))).thenReturn(List.of(object));
+
+    assertEquals(Optional.of(object), dataRepository.find(1L));
+    verify(bound()).setLong(1, 1L);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldFindByIntegerKeyThroughSingleFlight() throws Exception
+  {
+    JdbcDataRepository dataRepository = integerKeyed().withSingleFlight(new SingleFlight(new SimpleMeterRegistry()));
+    ObjectNode object = new ObjectNode(null);
+    object.set(FIELD_ID, IntNode.valueOf(1));
+    when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class))).thenReturn(List.of(object));
+
+    assertEquals(Optional.of(object), dataRepository.find(1L));
+    verify(bound()).setInt(1, 1);
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {Integer.MAX_VALUE + 1L, Integer.MIN_VALUE - 1L})
+  @SuppressWarnings("unchecked")
+  void shouldNotFindOutOfRangeIntegerKey(long key)
+  {
+    assertEquals(Optional.empty(), integerKeyed().find(key));
+    assertEquals(Optional.empty(), integerKeyed().withSingleFlight(new SingleFlight(new SimpleMeterRegistry())).find(key));
+    verify(jdbcTemplate, never()).query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class));
+  }
+
+  @Test
+  void shouldNotFindByLongKeyWithoutNumericKey()
+  {
+    JdbcDataRepository dataRepository = new JdbcDataRepository(
+      queryExecutor,
+      jdbcTemplate,
+      "PUBLIC",
+      "TEST",
+      List.of(ID, TEXT.field(FIELD_NAME, new Column("NAME", Types.VARCHAR, true, false, false))),
+      null
+    );
+
+    assertThrows(IllegalStateException.class, () -> dataRepository.find(1L));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldRequireDeltaTablesToReturnChangedRows()
+  {
+    ObjectNode patch = new ObjectNode(null);
+    patch.set(FIELD_NAME, TextNode.valueOf("A"));
+
+    assertThrows(IllegalStateException.class, () -> dataRepository.deleteWhereReturning("id=1"));
+    assertThrows(IllegalStateException.class, () -> dataRepository.updateWhereReturning("id=1", patch));
+    verify(jdbcTemplate, never()).query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class));
+  }
+
+  @Test
+  void shouldFindFacets() throws Exception
+  {
+    facetRows();
+
+    assertEquals(facets("A", 3), dataRepository.facets(null, List.of(FIELD_NAME), 10));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldCacheFacetsUntilVersionChanges() throws Exception
+  {
+    TableVersion version = new TableVersion();
+    dataRepository.withVersion(version);
+    facetRows();
+
+    ObjectNode facets = dataRepository.facets(null, List.of(FIELD_NAME), 10);
+    facets.removeAll();
+
+    // a copy is returned, so the cached facets are untouched
+    assertEquals(facets("A", 3), dataRepository.facets(null, List.of(FIELD_NAME), 10));
+    verify(jdbcTemplate, times(1)).query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class));
+
+    version.increment();
+
+    assertEquals(facets("A", 3), dataRepository.facets(null, List.of(FIELD_NAME), 10));
+    verify(jdbcTemplate, times(2)).query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void facetRows() throws Exception
+  {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.getString("NAME")).thenReturn("A");
+    when(resultSet.getLong("FACET_COUNT")).thenReturn(3L);
+
+    when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class))).thenAnswer(
+      invocation -> List.of(((RowMapper<ObjectNode>)invocation.getArgument(2)).mapRow(resultSet, 0))
+    );
+  }
+
+  private static ObjectNode facets(String value, long count)
+  {
+    ObjectNode facet = new ObjectNode(null);
+    facet.set("value", TextNode.valueOf(value));
+    facet.set("count", LongNode.valueOf(count));
+
+    ObjectNode facets = new ObjectNode(null);
+    facets.set(FIELD_NAME, new ArrayNode(null).add(facet));
+
+    return facets;
+  }
+
+  @SuppressWarnings("unchecked")
+  private PreparedStatement bound() throws Exception
+  {
+    ArgumentCaptor<PreparedStatementSetter> preparedStatementSetter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+    verify(jdbcTemplate).query(anyString(), preparedStatementSetter.capture(), any(RowMapper.class));
+
+    PreparedStatement preparedStatement = mock(PreparedStatement.class);
+    preparedStatementSetter.getValue().setValues(preparedStatement);
+
+    return preparedStatement;
+  }
+
+  private JdbcDataRepository integerKeyed()
+  {
+    return new JdbcDataRepository(
+      queryExecutor,
+      jdbcTemplate,
+      "PUBLIC",
+      "TEST",
+      List.of(INTEGER.field(FIELD_ID, new Column("ID", Types.INTEGER, true, false, false)), NAME),
+      null
+    );
+  }
+
+  private static ObjectNode object(long id, String name, long version)
+  {
+    ObjectNode object = new ObjectNode(null);
+    object.set(FIELD_ID, LongNode.valueOf(id));
+    object.set(FIELD_NAME, TextNode.valueOf(name));
+    object.set(FIELD_VERSION, LongNode.valueOf(version));
+
+    return object;
+  }
+}
@@ -0,0 +1,57 @@
+package com.tn.service.data.jdbc.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import static com.tn.service.data.jdbc.domain.FieldType.LONG;
+import static com.tn.service.data.jdbc.domain.FieldType.TEXT;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tn.service.data.jdbc.domain.Column;
+import com.tn.service.data.jdbc.domain.Field;
+
+class RefreshableFieldsTest
+{
+  private static final Field ID = LONG.field("id", new Column("ID", Types.BIGINT, true, false, false));
+  private static final Field NAME = TEXT.field("name", new Column("NAME", Types.VARCHAR, false, true, false));
+
+  @Test
+  void shouldShowRefreshedFields()
+  {
+    RefreshableFields fields = new RefreshableFields(List.of(ID));
+    fields.refresh(List.of(ID, NAME));
+
+    assertEquals(List.of(ID, NAME), fields);
+    assertEquals(NAME, fields.get(1));
+    assertEquals(2, fields.size());
+  }
+
+  @Test
+  void shouldNotChangeWithCollectionGiven()
+  {
+    List<Field> given = new ArrayList<>(List.of(ID));
+    RefreshableFields fields = new RefreshableFields(given);
+    given.add(NAME);
+
+    assertEquals(List.of(ID), fields);
+  }
+
+  @Test
+  void shouldIterateFieldsAsOfStart()
+  {
+    RefreshableFields fields = new RefreshableFields(List.of(ID, NAME));
+
+    Iterator<Field> iterator = fields.iterator();
+    fields.refresh(List.of(ID));
+
+    // an iteration under way is not affected by a refresh
+    assertEquals(ID, iterator.next());
+    assertEquals(NAME, iterator.next());
+    assertEquals(List.of(ID), fields.stream().toList());
+  }
+}
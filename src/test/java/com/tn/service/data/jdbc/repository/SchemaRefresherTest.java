@@ -0,0 +1,110 @@
+package com.tn.service.data.jdbc.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.tn.service.data.jdbc.domain.FieldType.LONG;
+import static com.tn.service.data.jdbc.domain.FieldType.TEXT;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tn.service.data.jdbc.domain.Column;
+import com.tn.service.data.jdbc.domain.Field;
+import com.tn.service.data.repository.FindException;
+
+class SchemaRefresherTest
+{
+  private static final String SCHEMA = "PUBLIC";
+  private static final String TABLE = "TEST";
+  private static final Field ID = LONG.field("id", new Column("ID", Types.BIGINT, true, false, false));
+  private static final Field NAME = TEXT.field("name", new Column("NAME", Types.VARCHAR, false, true, false));
+
+  private final FieldRepository fieldRepository = mock(FieldRepository.class);
+  private final JdbcDataRepository dataRepository = mock(JdbcDataRepository.class);
+  private final RefreshableFields fields = new RefreshableFields(List.of(ID));
+
+  @Test
+  void shouldRefreshChangedFields()
+  {
+    when(dataRepository.fields()).thenReturn(List.of(ID));
+    when(fieldRepository.findForTable(SCHEMA, TABLE)).thenReturn(List.of(ID, NAME));
+
+    try (SchemaRefresher schemaRefresher = schemaRefresher())
+    {
+      assertTrue(schemaRefresher.refresh());
+    }
+
+    verify(dataRepository).refresh(List.of(ID, NAME));
+    assertEquals(List.of(ID, NAME), fields);
+  }
+
+  @Test
+  void shouldNotRefreshUnchangedFields()
+  {
+    when(dataRepository.fields()).thenReturn(List.of(ID));
+    when(fieldRepository.findForTable(SCHEMA, TABLE)).thenReturn(List.of(ID));
+
+    try (SchemaRefresher schemaRefresher = schemaRefresher())
+    {
+      assertFalse(schemaRefresher.refresh());
+    }
+
+    verify(dataRepository, never()).refresh(any());
+  }
+
+  @Test
+  void shouldNotRefreshMissingTable()
+  {
+    when(fieldRepository.findForTable(SCHEMA, TABLE)).thenReturn(List.of());
+
+    try (SchemaRefresher schemaRefresher = schemaRefresher())
+    {
+      assertThrows(IllegalStateException.class, schemaRefresher::refresh);
+    }
+
+    verify(dataRepository, never()).refresh(any());
+    assertEquals(List.of(ID), fields);
+  }
+
+  @Test
+  void shouldKeepRefreshingOnIntervalAfterFailure()
+  {
+    when(dataRepository.fields()).thenReturn(List.of(ID));
+    when(fieldRepository.findForTable(SCHEMA, TABLE)).thenThrow(new FindException("Metadata unavailable")).thenReturn(List.of(ID, NAME));
+
+    try (SchemaRefresher ignored = schemaRefresher().withInterval(Duration.ofMillis(10)))
+    {
+      verify(dataRepository, timeout(1000)).refresh(List.of(ID, NAME));
+      verify(fieldRepository, atLeast(2)).findForTable(SCHEMA, TABLE);
+    }
+  }
+
+  @Test
+  void shouldNotRefreshOnIntervalWhenZero() throws Exception
+  {
+    try (SchemaRefresher ignored = schemaRefresher().withInterval(Duration.ZERO))
+    {
+      Thread.sleep(50);
+    }
+
+    verify(fieldRepository, never()).findForTable(SCHEMA, TABLE);
+  }
+
+  private SchemaRefresher schemaRefresher()
+  {
+    return new SchemaRefresher(fieldRepository, () -> dataRepository, () -> fields, SCHEMA, TABLE);
+  }
+}
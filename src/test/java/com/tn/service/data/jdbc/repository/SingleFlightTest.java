@@ -0,0 +1,136 @@
+package com.tn.service.data.jdbc.repository;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest
+{
+  private static final String KEY = "key";
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+  private final AtomicInteger reads = new AtomicInteger();
+
+  @Test
+  void shouldCoalesceConcurrentReads() throws Exception
+  {
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<ObjectNode> first = supplyAsync(() -> singleFlight.execute(KEY, read(object(1), release), ObjectNode::deepCopy));
+    CompletableFuture<ObjectNode> second = joined(() -> singleFlight.execute(KEY, read(object(2), null), ObjectNode::deepCopy));
+    release.countDown();
+
+    assertEquals(object(1), first.get());
+    assertEquals(object(1), second.get());
+    assertNotSame(first.get(), second.get());
+    assertEquals(1, reads.get());
+    assertEquals(1.0, count("executed"));
+    assertEquals(1.0, count("coalesced"));
+  }
+
+  @Test
+  void shouldReturnResultUncopiedWhenNotShared()
+  {
+    ObjectNode object = object(1);
+
+    assertSame(object, singleFlight.execute(KEY, () -> object, ObjectNode::deepCopy));
+  }
+
+  @Test
+  void shouldPropagateErrorToJoiners() throws Exception
+  {
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<ObjectNode> first = supplyAsync(
+      () -> singleFlight.execute(
+        KEY,
+        () ->
+        {
+          read(null, release).get();
+          throw new IllegalStateException("Read failed");
+        },
+        ObjectNode::deepCopy
+      )
+    );
+    CompletableFuture<ObjectNode> second = joined(() -> singleFlight.execute(KEY, read(object(2), null), ObjectNode::deepCopy));
+    release.countDown();
+
+    assertEquals(IllegalStateException.class, assertThrows(CompletionException.class, first::join).getCause().getClass());
+    assertEquals(IllegalStateException.class, assertThrows(CompletionException.class, second::join).getCause().getClass());
+    assertEquals(1, reads.get());
+  }
+
+  @Test
+  void shouldRemoveKeyOnceComplete()
+  {
+    assertEquals(object(1), singleFlight.execute(KEY, read(object(1), null), ObjectNode::deepCopy));
+    assertThrows(IllegalStateException.class, () -> singleFlight.execute(KEY, () -> { throw new IllegalStateException(); }, ObjectNode::deepCopy));
+    assertEquals(object(2), singleFlight.execute(KEY, read(object(2), null), ObjectNode::deepCopy));
+
+    assertEquals(3.0, count("executed"));
+    assertEquals(0.0, count("coalesced"));
+  }
+
+  private Supplier<ObjectNode> read(ObjectNode object, CountDownLatch release)
+  {
+    return () ->
+    {
+      reads.incrementAndGet();
+      if (release != null) awaitQuietly(release);
+
+      return object;
+    };
+  }
+
+  private CompletableFuture<ObjectNode> joined(Supplier<ObjectNode> execute)
+  {
+    // the first read is held until released, so waiting for it to start then for the join makes the two overlap
+    while (reads.get() == 0) Thread.onSpinWait();
+
+    CompletableFuture<ObjectNode> joined = supplyAsync(execute);
+    while (count("coalesced") == 0) Thread.onSpinWait();
+
+    return joined;
+  }
+
+  private double count(String outcome)
+  {
+    return meterRegistry.counter("tn.data.single-flight.requests", "outcome", outcome).count();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch)
+  {
+    try
+    {
+      latch.await();
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static ObjectNode object(int id)
+  {
+    ObjectNode object = new ObjectNode(null);
+    object.set("id", IntNode.valueOf(id));
+
+    return object;
+  }
+}
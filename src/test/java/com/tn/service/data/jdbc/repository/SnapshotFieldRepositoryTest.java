@@ -0,0 +1,123 @@
+package com.tn.service.data.jdbc.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.tn.service.data.jdbc.domain.FieldType.LONG;
+import static com.tn.service.data.jdbc.domain.FieldType.TEXT;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tn.service.data.jdbc.domain.Column;
+import com.tn.service.data.jdbc.domain.Field;
+
+class SnapshotFieldRepositoryTest
+{
+  private static final String SCHEMA = "PUBLIC";
+  private static final String TABLE = "TEST";
+  private static final String SNAPSHOT_FILE = "PUBLIC.TEST.json";
+  private static final Field ID = LONG.field("id", new Column("ID", Types.BIGINT, true, false, false));
+  private static final Field NAME = TEXT.field("name", new Column("NAME", Types.VARCHAR, false, true, false));
+
+  private final FieldRepository fieldRepository = mock(FieldRepository.class);
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldWriteSnapshotOfDatabaseFields()
+  {
+    when(fieldRepository.findForTable(SCHEMA, TABLE)).thenReturn(List.of(ID, NAME));
+
+    assertEquals(List.of(ID, NAME), List.copyOf(snapshotFieldRepository().findForTable(SCHEMA, TABLE)));
+    assertTrue(Files.exists(directory.resolve(SNAPSHOT_FILE)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldReadSnapshotThenCheckDatabase()
+  {
+    when(fieldRepository.findForTable(SCHEMA, TABLE)).thenReturn(List.of(ID, NAME));
+    snapshotFieldRepository().findForTable(SCHEMA, TABLE);
+
+    // as on the next start
+    BiConsumer<String, String> changeListener = mock(BiConsumer.class);
+    SnapshotFieldRepository snapshotFieldRepository = snapshotFieldRepository().withChangeListener(changeListener);
+
+    assertEquals(List.of(ID, NAME), List.copyOf(snapshotFieldRepository.findForTable(SCHEMA, TABLE)));
+    verify(fieldRepository, timeout(1000).times(2)).findForTable(SCHEMA, TABLE);
+    verify(changeListener, never()).accept(SCHEMA, TABLE);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldReplaceSnapshotThatDiffersFromDatabase()
+  {
+    when(fieldRepository.findForTable(SCHEMA, TABLE)).thenReturn(List.of(ID));
+    snapshotFieldRepository().findForTable(SCHEMA, TABLE);
+
+    when(fieldRepository.findForTable(SCHEMA, TABLE)).thenReturn(List.of(ID, NAME));
+    BiConsumer<String, String> changeListener = mock(BiConsumer.class);
+    SnapshotFieldRepository snapshotFieldRepository = snapshotFieldRepository().withChangeListener(changeListener);
+
+    // the stale snapshot is served, then replaced for the next start
+    assertEquals(List.of(ID), List.copyOf(snapshotFieldRepository.findForTable(SCHEMA, TABLE)));
+    verify(changeListener, timeout(1000)).accept(SCHEMA, TABLE);
+    assertEquals(List.of(ID, NAME), List.copyOf(snapshotFieldRepository().findForTable(SCHEMA, TABLE)));
+  }
+
+  @Test
+  void shouldReadSnapshotOnlyOnce()
+  {
+    when(fieldRepository.findForTable(SCHEMA, TABLE)).thenReturn(List.of(ID));
+    snapshotFieldRepository().findForTable(SCHEMA, TABLE);
+
+    SnapshotFieldRepository snapshotFieldRepository = snapshotFieldRepository();
+    snapshotFieldRepository.findForTable(SCHEMA, TABLE);
+    verify(fieldRepository, timeout(1000).times(2)).findForTable(SCHEMA, TABLE);
+
+    // a later call, e.g. a schema refresh, goes to the database
+    snapshotFieldRepository.findForTable(SCHEMA, TABLE);
+    verify(fieldRepository, times(3)).findForTable(SCHEMA, TABLE);
+  }
+
+  @Test
+  void shouldIgnoreUnreadableSnapshot() throws Exception
+  {
+    Files.writeString(directory.resolve(SNAPSHOT_FILE), "not json");
+    when(fieldRepository.findForTable(SCHEMA, TABLE)).thenReturn(List.of(ID));
+
+    assertEquals(List.of(ID), List.copyOf(snapshotFieldRepository().findForTable(SCHEMA, TABLE)));
+    assertEquals(List.of(ID), List.copyOf(snapshotFieldRepository().findForTable(SCHEMA, TABLE)));
+  }
+
+  @Test
+  void shouldNotSnapshotMissingTable()
+  {
+    when(fieldRepository.findForTable(SCHEMA, TABLE)).thenReturn(List.of());
+
+    assertTrue(snapshotFieldRepository().findForTable(SCHEMA, TABLE).isEmpty());
+    assertFalse(Files.exists(directory.resolve(SNAPSHOT_FILE)));
+  }
+
+  private SnapshotFieldRepository snapshotFieldRepository()
+  {
+    return new SnapshotFieldRepository(fieldRepository, directory, objectMapper);
+  }
+}
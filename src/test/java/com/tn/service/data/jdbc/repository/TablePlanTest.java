@@ -0,0 +1,187 @@
+package com.tn.service.data.jdbc.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static com.tn.service.data.jdbc.domain.FieldType.INTEGER;
+import static com.tn.service.data.jdbc.domain.FieldType.LONG;
+import static com.tn.service.data.jdbc.domain.FieldType.TEXT;
+import static com.tn.service.data.jdbc.domain.FieldType.TIMESTAMP;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.Test;
+
+import com.tn.service.data.jdbc.domain.Column;
+import com.tn.service.data.jdbc.domain.Field;
+
+class TablePlanTest
+{
+  private static final Field ID = LONG.field("id", new Column("ID", Types.BIGINT, true, false, false));
+  private static final Field ID_2 = INTEGER.field("id2", new Column("ID2", Types.INTEGER, true, false, false));
+  private static final Field NAME = TEXT.field("name", new Column("NAME", Types.VARCHAR, false, true, false));
+  private static final Field MODIFIED = TIMESTAMP.field("modified", new Column("MODIFIED", Types.TIMESTAMP, false, false, false));
+  private static final Field DELETED = TIMESTAMP.field("deleted", new Column("DELETED", Types.TIMESTAMP, false, true, false));
+  private static final Field VERSION = LONG.field("version", new Column("VERSION", Types.BIGINT, false, false, false));
+
+  private final TablePlan plan = TablePlan.of("PUBLIC", "TEST", List.of(ID, ID_2, NAME, MODIFIED, DELETED), null);
+
+  @Test
+  void shouldUseKeyFieldsAsKeysetWithoutField()
+  {
+    assertEquals(List.of(ID, ID_2), plan.keysetFields(null));
+  }
+
+  @Test
+  void shouldLeadKeysetWithField()
+  {
+    assertEquals(List.of(MODIFIED, ID, ID_2), plan.keysetFields("modified"));
+  }
+
+  @Test
+  void shouldNotRepeatKeyFieldInKeyset()
+  {
+    assertEquals(List.of(ID_2, ID), plan.keysetFields("id2"));
+  }
+
+  @Test
+  void shouldNotCreateKeysetForUnknownField()
+  {
+    assertThrows(IllegalArgumentException.class, () -> plan.keysetFields("unknown"));
+  }
+
+  @Test
+  void shouldExpandKeysetPredicate()
+  {
+    assertEquals(
+      "(MODIFIED > ?) OR (MODIFIED = ? AND ID > ?) OR (MODIFIED = ? AND ID = ? AND ID2 > ?)",
+      plan.keysetPredicate(plan.keysetFields("modified"), true)
+    );
+  }
+
+  @Test
+  void shouldNotCreateKeysetPredicateWithoutCursor()
+  {
+    assertNull(plan.keysetPredicate(plan.keysetFields("modified"), false));
+  }
+
+  @Test
+  void shouldExcludeNullsFromNullableKeyset()
+  {
+    assertEquals("DELETED IS NOT NULL", plan.keysetPredicate(plan.keysetFields("deleted"), false));
+    assertEquals(
+      "DELETED IS NOT NULL AND ((DELETED > ?) OR (DELETED = ? AND ID > ?) OR (DELETED = ? AND ID = ? AND ID2 > ?))",
+      plan.keysetPredicate(plan.keysetFields("deleted"), true)
+    );
+  }
+
+  @Test
+  void shouldShareUpdatePlanBetweenObjectsOfSameShape()
+  {
+    ObjectNode object1 = new ObjectNode(null);
+    object1.set("id", IntNode.valueOf(1));
+    object1.set("name", TextNode.valueOf("T1"));
+
+    ObjectNode object2 = new ObjectNode(null);
+    object2.set("id", IntNode.valueOf(2));
+    object2.set("name", TextNode.valueOf("T2"));
+
+    TablePlan.UpdatePlan updatePlan = plan.updatePlan(plan.presentFields(object1));
+
+    assertEquals("UPDATE PUBLIC.TEST SET NAME = ? WHERE ID = ? AND ID2 = ?", updatePlan.sql());
+    assertEquals(3, updatePlan.binder().size());
+    assertSame(updatePlan, plan.updatePlan(plan.presentFields(object2)));
+  }
+
+  @Test
+  void shouldPlanUpdateForEachShape()
+  {
+    ObjectNode object = new ObjectNode(null);
+    object.set("id", IntNode.valueOf(1));
+    object.set("name", TextNode.valueOf("T1"));
+
+    TablePlan.UpdatePlan namePlan = plan.updatePlan(plan.presentFields(object));
+
+    object.set("modified", TextNode.valueOf("2024-01-01T00:00:00"));
+    TablePlan.UpdatePlan nameAndModifiedPlan = plan.updatePlan(plan.presentFields(object));
+
+    assertNotSame(namePlan, nameAndModifiedPlan);
+    assertEquals("UPDATE PUBLIC.TEST SET NAME = ?, MODIFIED = ? WHERE ID = ? AND ID2 = ?", nameAndModifiedPlan.sql());
+  }
+
+  @Test
+  void shouldBoundUpdatePlans()
+  {
+    List<Field> fields = new ArrayList<>(List.of(ID));
+    IntStream.range(0, 10).forEach(i -> fields.add(TEXT.field("text" + i, new Column("TEXT" + i, Types.VARCHAR, false, true, false))));
+    TablePlan plan = TablePlan.of("PUBLIC", "TEST", fields, null);
+
+    // every one of the 1023 non-empty shapes of ten fields
+    for (int shape = 1; shape < 1 << 10; shape++) plan.updatePlan(BitSet.valueOf(new long[] {shape}));
+
+    assertTrue(plan.updatePlans().size() <= TablePlan.MAX_UPDATE_PLANS);
+  }
+
+  @Test
+  void shouldPlanSingleShapeUpdate()
+  {
+    TablePlan.UpdatePlan updatePlan = plan.singleShapeUpdatePlan();
+
+    assertEquals(
+      "UPDATE PUBLIC.TEST SET NAME = CASE WHEN ? = 1 THEN ? ELSE NAME END, MODIFIED = CASE WHEN ? = 1 THEN ? ELSE MODIFIED END,"
+        + " DELETED = CASE WHEN ? = 1 THEN ? ELSE DELETED END WHERE ID = ? AND ID2 = ?",
+      updatePlan.sql()
+    );
+    // a flag and a value for each updatable field, then the key
+    assertEquals(8, updatePlan.binder().size());
+  }
+
+  @Test
+  void shouldNotPlanSingleShapeUpdateWithoutUpdatableFields()
+  {
+    assertNull(TablePlan.of("PUBLIC", "TEST", List.of(ID, ID_2), null).singleShapeUpdatePlan());
+  }
+
+  @Test
+  void shouldConditionUpdateOnVersion()
+  {
+    TablePlan plan = TablePlan.of("PUBLIC", "TEST", List.of(ID, NAME, VERSION), null, "version");
+
+    assertEquals(VERSION, plan.versionField());
+    assertEquals(List.of(NAME), plan.updatableFields());
+    assertEquals("UPDATE PUBLIC.TEST SET NAME = ?, VERSION = VERSION + 1 WHERE ID = ? AND VERSION = ?", plan.updateSql(List.of(NAME)));
+  }
+
+  @Test
+  void shouldNotVersionWithNullableField()
+  {
+    assertThrows(IllegalArgumentException.class, () -> TablePlan.of("PUBLIC", "TEST", List.of(ID, NAME, VERSION), null, "name"));
+  }
+
+  @Test
+  void shouldNotVersionWithKeyField()
+  {
+    assertThrows(IllegalArgumentException.class, () -> TablePlan.of("PUBLIC", "TEST", List.of(ID, NAME, VERSION), null, "id"));
+  }
+
+  @Test
+  void shouldTagLookupRowsWithKeyPosition()
+  {
+    assertEquals(
+      "SELECT 0 AS LOOKUP_INDEX, ID, ID2, NAME, MODIFIED, DELETED FROM PUBLIC.TEST WHERE ID = ? AND ID2 = ?"
+        + " UNION ALL SELECT 1 AS LOOKUP_INDEX, ID, ID2, NAME, MODIFIED, DELETED FROM PUBLIC.TEST WHERE ID = ? AND ID2 = ?",
+      plan.lookupSql(2)
+    );
+  }
+}
@@ -0,0 +1,44 @@
+package com.tn.service.data.jdbc.startup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+
+class TrainingRunTest
+{
+  private final ConfigurableApplicationContext applicationContext = mock(ConfigurableApplicationContext.class);
+  private final MockEnvironment environment = new MockEnvironment();
+  private final List<Integer> exitCodes = new ArrayList<>();
+
+  @Test
+  void shouldExitInTrainingProfile()
+  {
+    environment.setActiveProfiles(TrainingRun.PROFILE);
+
+    new TrainingRun(applicationContext, environment, exitCodes::add).run(new DefaultApplicationArguments());
+
+    assertEquals(List.of(0), exitCodes);
+    verify(applicationContext).close();
+  }
+
+  @Test
+  void shouldNotExitOutsideTrainingProfile()
+  {
+    environment.setActiveProfiles("production");
+
+    new TrainingRun(applicationContext, environment, exitCodes::add).run(new DefaultApplicationArguments());
+
+    assertTrue(exitCodes.isEmpty());
+    verify(applicationContext, never()).close();
+  }
+}
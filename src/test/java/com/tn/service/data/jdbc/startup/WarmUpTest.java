@@ -0,0 +1,123 @@
+package com.tn.service.data.jdbc.startup;
+
+import static java.util.Collections.emptySet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.tn.service.data.domain.Direction.ASCENDING;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import com.tn.service.data.jdbc.repository.JdbcDataRepository;
+import com.tn.service.data.parameter.IdentityParser;
+import com.tn.service.data.parameter.QueryBuilder;
+
+class WarmUpTest
+{
+  private static final int CONNECTIONS = 3;
+  private static final int ITERATIONS = 2;
+  private static final int PAGE_SIZE = 5;
+
+  private final DataSource dataSource = mock(DataSource.class);
+  private final JdbcDataRepository dataRepository = mock(JdbcDataRepository.class);
+
+  @Test
+  void shouldHoldEveryConnectionOpenWhilePreparing() throws Exception
+  {
+    AtomicInteger open = new AtomicInteger();
+    AtomicInteger mostOpen = new AtomicInteger();
+    Connection connection = mock(Connection.class);
+    doAnswer(invocation -> open.decrementAndGet()).when(connection).close();
+    when(dataSource.getConnection()).thenAnswer(
+      invocation ->
+      {
+        mostOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+        return connection;
+      }
+    );
+
+    warmUp(dataRepository).run(new DefaultApplicationArguments());
+
+    // held together, so the pool grows to the size asked for rather than reusing one connection
+    assertEquals(CONNECTIONS, mostOpen.get());
+    assertEquals(0, open.get());
+    verify(dataRepository, times(CONNECTIONS)).prepare(connection);
+  }
+
+  @Test
+  void shouldExerciseReads() throws Exception
+  {
+    when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    when(dataRepository.findFirst(PAGE_SIZE)).thenReturn(List.of(key(1), key(2)));
+
+    warmUp(dataRepository).run(new DefaultApplicationArguments());
+
+    verify(dataRepository, times(ITERATIONS)).findAll(0, PAGE_SIZE, emptySet(), ASCENDING);
+    verify(dataRepository, times(ITERATIONS)).find(key(1));
+    verify(dataRepository, times(ITERATIONS)).find(key(2));
+  }
+
+  @Test
+  void shouldFillPoolWithoutDataRepository() throws Exception
+  {
+    when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+    warmUp(null).run(new DefaultApplicationArguments());
+
+    verify(dataSource, times(CONNECTIONS)).getConnection();
+  }
+
+  @Test
+  void shouldCloseConnectionsAndCarryOnWhenWarmUpFails() throws Exception
+  {
+    Connection connection = mock(Connection.class);
+    when(dataSource.getConnection()).thenReturn(connection).thenThrow(new SQLException("Pool exhausted"));
+
+    // a failed warm-up is logged rather than failing startup
+    warmUp(dataRepository).run(new DefaultApplicationArguments());
+
+    verify(connection).close();
+    verify(dataRepository, never()).findFirst(PAGE_SIZE);
+  }
+
+  @SuppressWarnings("unchecked")
+  private WarmUp warmUp(JdbcDataRepository dataRepository)
+  {
+    ObjectProvider<JdbcDataRepository> dataRepositoryProvider = mock(ObjectProvider.class);
+    when(dataRepositoryProvider.getIfAvailable()).thenReturn(dataRepository);
+
+    return new WarmUp(
+      dataSource,
+      dataRepositoryProvider,
+      (ObjectProvider<IdentityParser<?, ?>>)mock(ObjectProvider.class),
+      (ObjectProvider<QueryBuilder>)mock(ObjectProvider.class),
+      CONNECTIONS,
+      ITERATIONS,
+      PAGE_SIZE
+    );
+  }
+
+  private static ObjectNode key(long id)
+  {
+    ObjectNode key = new ObjectNode(null);
+    key.set("id", LongNode.valueOf(id));
+
+    return key;
+  }
+}
@@ -0,0 +1,143 @@
+package com.tn.service.data.jdbc.web;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class CompressionFilterTest
+{
+  private static final int THRESHOLD = 100;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CompressionFilter compressionFilter = new CompressionFilter(THRESHOLD, 6, 3, meterRegistry);
+
+  @Test
+  void shouldCompressLargeResponse() throws Exception
+  {
+    byte[] body = "{\"field\":\"value\"}".repeat(100).getBytes();
+
+    MockHttpServletResponse response = filter("gzip", body);
+
+    assertEquals("gzip", response.getHeader(CONTENT_ENCODING));
+    assertArrayEquals(body, gunzip(response.getContentAsByteArray()));
+    assertEquals(1, meterRegistry.get("tn.data.compression.ratio").summary().count());
+  }
+
+  @Test
+  void shouldNotCompressSmallResponse() throws Exception
+  {
+    byte[] body = "{\"field\":\"value\"}".getBytes();
+
+    MockHttpServletResponse response = filter("gzip", body);
+
+    assertNull(response.getHeader(CONTENT_ENCODING));
+    assertArrayEquals(body, response.getContentAsByteArray());
+    assertEquals(body.length, response.getContentLength());
+  }
+
+  @Test
+  void shouldNotCompressWithoutAcceptEncoding() throws Exception
+  {
+    byte[] body = "{\"field\":\"value\"}".repeat(100).getBytes();
+
+    MockHttpServletResponse response = filter(null, body);
+
+    assertNull(response.getHeader(CONTENT_ENCODING));
+    assertArrayEquals(body, response.getContentAsByteArray());
+  }
+
+  @Test
+  void shouldNotCompressRejectedEncoding() throws Exception
+  {
+    byte[] body = "{\"field\":\"value\"}".repeat(100).getBytes();
+
+    MockHttpServletResponse response = filter("gzip;q=0", body);
+
+    assertNull(response.getHeader(CONTENT_ENCODING));
+    assertArrayEquals(body, response.getContentAsByteArray());
+  }
+
+  @Test
+  void shouldNotCompressEncodingRejectedDespiteWildcard() throws Exception
+  {
+    byte[] body = "{\"field\":\"value\"}".repeat(100).getBytes();
+
+    MockHttpServletResponse response = filter("*;q=1, zstd;q=0", body);
+
+    assertEquals("gzip", response.getHeader(CONTENT_ENCODING));
+    assertArrayEquals(body, gunzip(response.getContentAsByteArray()));
+  }
+
+  @Test
+  void shouldNotCompressNonBlockingResponse() throws Exception
+  {
+    byte[] body = "{\"field\":\"value\"}".repeat(100).getBytes();
+    WriteListener writeListener = mock(WriteListener.class);
+    ServletOutputStream outputStream = mock(ServletOutputStream.class);
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(ACCEPT_ENCODING, "gzip");
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    compressionFilter.doFilter(
+      request,
+      new HttpServletResponseWrapper(response)
+      {
+        @Override
+        public ServletOutputStream getOutputStream()
+        {
+          return outputStream;
+        }
+      },
+      (filterRequest, filterResponse) ->
+      {
+        filterResponse.getOutputStream().setWriteListener(writeListener);
+        filterResponse.getOutputStream().write(body);
+      }
+    );
+
+    assertNull(response.getHeader(CONTENT_ENCODING));
+    verify(outputStream).setWriteListener(writeListener);
+    verify(outputStream).write(aryEq(body), eq(0), eq(body.length));
+  }
+
+  private MockHttpServletResponse filter(String acceptEncoding, byte[] body) throws Exception
+  {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    if (acceptEncoding != null) request.addHeader(ACCEPT_ENCODING, acceptEncoding);
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    compressionFilter.doFilter(request, response, (filterRequest, filterResponse) -> filterResponse.getOutputStream().write(body));
+
+    return response;
+  }
+
+  private byte[] gunzip(byte[] bytes) throws IOException
+  {
+    try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(bytes)))
+    {
+      return inputStream.readAllBytes();
+    }
+  }
+}
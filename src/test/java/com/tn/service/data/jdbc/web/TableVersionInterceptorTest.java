@@ -0,0 +1,64 @@
+package com.tn.service.data.jdbc.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.tn.service.data.jdbc.repository.TableVersion;
+
+class TableVersionInterceptorTest
+{
+  private final TableVersion tableVersion = new TableVersion();
+  private final TableVersionInterceptor tableVersionInterceptor = new TableVersionInterceptor(request -> tableVersion);
+
+  @Test
+  void shouldReturnNotModified()
+  {
+    String etag = etag();
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    request.addHeader(IF_NONE_MATCH, etag);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertFalse(tableVersionInterceptor.preHandle(request, response, new Object()));
+    assertEquals(304, response.getStatus());
+  }
+
+  @Test
+  void shouldReturnModifiedAfterIncrement()
+  {
+    String etag = etag();
+    tableVersion.increment();
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    request.addHeader(IF_NONE_MATCH, etag);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertTrue(tableVersionInterceptor.preHandle(request, response, new Object()));
+    assertEquals(200, response.getStatus());
+    assertEquals(etag(), response.getHeader(ETAG));
+  }
+
+  @Test
+  void shouldIgnoreWrites()
+  {
+    MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/");
+    request.addHeader(IF_NONE_MATCH, etag());
+
+    assertTrue(tableVersionInterceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+  }
+
+  private String etag()
+  {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    tableVersionInterceptor.preHandle(new MockHttpServletRequest("GET", "/"), response, new Object());
+
+    return response.getHeader(ETAG);
+  }
+}